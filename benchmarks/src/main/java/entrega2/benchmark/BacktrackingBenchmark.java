@@ -0,0 +1,84 @@
+package entrega2.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entrega2.algorithm.Backtracking;
+import entrega2.algorithm.BacktrackingIterativo;
+import entrega2.algorithm.BacktrackingParalelo;
+import entrega2.model.grafo.Arco;
+
+/**
+ * Benchmarks de Backtracking. Como la busqueda es exponencial se usan redes
+ * chicas, y el Backtracking simple corre con un limite de nodos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BacktrackingBenchmark {
+
+	@Param({ "6", "10", "14" })
+	private int estaciones;
+
+	@Param({ "3", "5" })
+	private double gradoMedio;
+
+	private List<Arco<Integer>> arcos;
+
+	@Setup
+	public void preparar() throws IOException {
+		arcos = Redes.dispersa(estaciones, gradoMedio, 42);
+	}
+
+	@Benchmark
+	public List<Arco<Integer>> ramificacionYPoda() {
+		return new Backtracking(true).buscarSolucion(arcos);
+	}
+
+	@Benchmark
+	public List<Arco<Integer>> ramificacionYPodaIterativo() {
+		return new BacktrackingIterativo(true).buscarSolucion(arcos);
+	}
+
+	@Benchmark
+	public List<Arco<Integer>> ramificacionYPodaConGreedy() {
+		Backtracking backtracking = new Backtracking(true);
+		backtracking.setArranqueGreedy(true);
+		return backtracking.buscarSolucion(arcos);
+	}
+
+	/**
+	 * Backtracking paralelo en el pool comun.
+	 */
+	@Benchmark
+	public List<Arco<Integer>> paralelo() {
+		return new BacktrackingParalelo().buscarSolucion(arcos);
+	}
+
+	/**
+	 * Backtracking simple con un limite de nodos, para que las redes mas grandes
+	 * no dominen el tiempo total de la corrida.
+	 */
+	@Benchmark
+	public List<Arco<Integer>> simpleLimitado() {
+		Backtracking backtracking = new Backtracking();
+		backtracking.setLimiteNodos(200000);
+		return backtracking.buscarSolucion(arcos);
+	}
+}
@@ -0,0 +1,110 @@
+package entrega2.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entrega2.model.grafo.Arco;
+import entrega2.model.grafo.GrafoDirigido;
+import entrega2.service.ServicioBFS;
+import entrega2.service.ServicioCaminos;
+import entrega2.service.ServicioDFS;
+
+/**
+ * Benchmarks de {@link GrafoDirigido} y de los servicios de recorrido, sobre
+ * grafos con un arco en cada sentido por tunel de una red aleatoria.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrafoBenchmark {
+
+	@Param({ "100", "1000", "5000" })
+	private int vertices;
+
+	@Param({ "3", "10" })
+	private double gradoMedio;
+
+	/**
+	 * Largo maximo de los caminos que enumera {@link ServicioCaminos}.
+	 */
+	private static final int LIMITE_CAMINOS = 4;
+
+	private List<Arco<Integer>> arcos;
+	private GrafoDirigido<Integer> grafo;
+
+	@Setup
+	public void preparar() throws IOException {
+		arcos = Redes.dispersa(vertices, gradoMedio, 42);
+		grafo = armar();
+	}
+
+	private GrafoDirigido<Integer> armar() {
+		GrafoDirigido<Integer> g = new GrafoDirigido<>();
+		for (int v = 1; v <= vertices; v++) {
+			g.agregarVertice(v);
+		}
+		for (Arco<Integer> arco : arcos) {
+			g.agregarArco(arco.getVerticeOrigen(), arco.getVerticeDestino(), arco.getEtiqueta());
+			g.agregarArco(arco.getVerticeDestino(), arco.getVerticeOrigen(), arco.getEtiqueta());
+		}
+		return g;
+	}
+
+	@Benchmark
+	public GrafoDirigido<Integer> agregar() {
+		return armar();
+	}
+
+	/**
+	 * Arma el grafo y borra un arco de cada tunel. Incluye el costo de armarlo,
+	 * que se mide por separado en {@link #agregar()}.
+	 */
+	@Benchmark
+	public GrafoDirigido<Integer> agregarYBorrar() {
+		GrafoDirigido<Integer> g = armar();
+		for (Arco<Integer> arco : arcos) {
+			g.borrarArco(arco.getVerticeOrigen(), arco.getVerticeDestino());
+		}
+		return g;
+	}
+
+	@Benchmark
+	public boolean existeArco() {
+		boolean existe = false;
+		for (Arco<Integer> arco : arcos) {
+			existe ^= grafo.existeArco(arco.getVerticeDestino(), arco.getVerticeOrigen());
+		}
+		return existe;
+	}
+
+	@Benchmark
+	public List<Integer> bfs() {
+		return new ServicioBFS<>(grafo).bfsForest();
+	}
+
+	@Benchmark
+	public List<Integer> dfs() {
+		return new ServicioDFS<>(grafo).dfsForest();
+	}
+
+	@Benchmark
+	public List<List<Integer>> caminos() {
+		return new ServicioCaminos<>(grafo, 1, vertices, LIMITE_CAMINOS).caminos();
+	}
+}
@@ -0,0 +1,88 @@
+package entrega2.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entrega2.model.ArcosPrimitivos;
+import entrega2.model.grafo.Arco;
+import entrega2.util.ArchivoBinario;
+import entrega2.util.CSVReader;
+import entrega2.util.GeneradorRedes;
+import entrega2.util.LectorMapeado;
+
+/**
+ * Benchmarks de la lectura de un archivo de tuneles con {@link CSVReader} y con
+ * {@link LectorMapeado}, secuencial y en paralelo, y de la carga del mismo
+ * archivo convertido con {@link ArchivoBinario}. Los archivos se escriben una vez
+ * por corrida en un directorio temporal; el de texto lo genera
+ * {@link GeneradorRedes}, con el mismo formato que los datasets (E1;E2;15).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LecturaBenchmark {
+
+	@Param({ "1000", "100000", "1000000" })
+	private int tuneles;
+
+	private File archivo;
+	private File binario;
+
+	@Setup
+	public void preparar() throws IOException {
+		// Grado medio suficiente para tener aproximadamente la cantidad de tuneles pedida
+		int estaciones = Math.max(2, (int) Math.sqrt(tuneles) * 4);
+		double gradoMedio = Math.min(estaciones - 1, 2.0 * tuneles / estaciones);
+
+		archivo = File.createTempFile("tuneles", ".txt");
+		new GeneradorRedes(42).dispersa(estaciones, gradoMedio, archivo);
+
+		binario = File.createTempFile("tuneles", ".subt");
+		ArchivoBinario.convertir(archivo.getPath(), binario.getPath());
+	}
+
+	@TearDown
+	public void limpiar() {
+		archivo.delete();
+		binario.delete();
+	}
+
+	@Benchmark
+	public List<Arco<Integer>> csvReader() {
+		return new CSVReader(archivo.getPath()).getArcos();
+	}
+
+	@Benchmark
+	public ArcosPrimitivos mapeado() {
+		return new LectorMapeado(archivo.getPath()).getArcosPrimitivos();
+	}
+
+	@Benchmark
+	public ArcosPrimitivos mapeadoParalelo() {
+		return new LectorMapeado(archivo.getPath(), ForkJoinPool.commonPool()).getArcosPrimitivos();
+	}
+
+	@Benchmark
+	public ArcosPrimitivos binario() {
+		return ArchivoBinario.leer(binario.getPath());
+	}
+}
@@ -0,0 +1,39 @@
+package entrega2.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import entrega2.model.grafo.Arco;
+import entrega2.util.GeneradorRedes;
+import entrega2.util.LectorMapeado;
+
+/**
+ * Redes de tuneles para los benchmarks, generadas con {@link GeneradorRedes}.
+ * Con la misma semilla se obtiene siempre la misma red, de modo que las
+ * mediciones sean comparables entre corridas.
+ */
+public class Redes {
+
+	private Redes() {
+	}
+
+	/**
+	 * Genera una red conexa con {@link GeneradorRedes#dispersa} y la carga en
+	 * memoria. Los kilometros son uniformes entre 1 y 1000.
+	 *
+	 * @param estaciones Cantidad de estaciones, numeradas desde 1.
+	 * @param gradoMedio Grado medio de las estaciones, entre 2(n-1)/n y n-1.
+	 * @param semilla    Semilla del generador aleatorio.
+	 * @return Lista de tuneles.
+	 */
+	public static List<Arco<Integer>> dispersa(int estaciones, double gradoMedio, long semilla) throws IOException {
+		File archivo = File.createTempFile("red", ".txt");
+		try {
+			new GeneradorRedes(semilla).dispersa(estaciones, gradoMedio, archivo);
+			return new LectorMapeado(archivo.getPath()).getArcos();
+		} finally {
+			archivo.delete();
+		}
+	}
+}
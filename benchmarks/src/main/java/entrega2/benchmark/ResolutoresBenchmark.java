@@ -0,0 +1,105 @@
+package entrega2.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entrega2.algorithm.Backtracking;
+import entrega2.algorithm.BacktrackingIterativo;
+import entrega2.algorithm.Boruvka;
+import entrega2.algorithm.Greedy;
+import entrega2.algorithm.KruskalExterno;
+import entrega2.algorithm.KruskalPrimitivo;
+import entrega2.algorithm.Prim;
+import entrega2.model.grafo.Arco;
+
+/**
+ * Benchmarks de los resolutores sobre redes conexas aleatorias, segun la
+ * cantidad de estaciones y el grado medio. Los Backtracking arrancan con la
+ * solucion Greedy y corren con un limite de nodos, asi que miden el costo por
+ * nodo sobre redes grandes; la busqueda completa se mide en
+ * {@link BacktrackingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolutoresBenchmark {
+
+	@Param({ "100", "1000", "5000" })
+	private int estaciones;
+
+	@Param({ "4", "16", "64" })
+	private double gradoMedio;
+
+	/**
+	 * Nodos que explora cada Backtracking antes de detenerse.
+	 */
+	private static final int LIMITE_NODOS = 100000;
+
+	private List<Arco<Integer>> arcos;
+
+	@Setup
+	public void preparar() throws IOException {
+		arcos = Redes.dispersa(estaciones, gradoMedio, 42);
+	}
+
+	@Benchmark
+	public List<Arco<Integer>> greedy() {
+		return new Greedy().buscarSolucion(arcos);
+	}
+
+	@Benchmark
+	public List<Arco<Integer>> kruskalPrimitivo() {
+		return new KruskalPrimitivo(KruskalPrimitivo.Ordenamiento.RADIX).buscarSolucion(arcos);
+	}
+
+	@Benchmark
+	public List<Arco<Integer>> prim() {
+		return new Prim().buscarSolucion(arcos);
+	}
+
+	@Benchmark
+	public List<Arco<Integer>> boruvka() {
+		return new Boruvka().buscarSolucion(arcos);
+	}
+
+	/**
+	 * Kruskal externo con corridas de un cuarto de los tuneles, para que se midan
+	 * la escritura de las corridas y la mezcla y no solo la resolucion en memoria.
+	 */
+	@Benchmark
+	public List<Arco<Integer>> kruskalExterno() {
+		return new KruskalExterno(Math.max(1, arcos.size() / 4), null).buscarSolucion(arcos);
+	}
+
+	@Benchmark
+	public List<Arco<Integer>> backtrackingLimitado() {
+		return limitado(new Backtracking(true)).buscarSolucion(arcos);
+	}
+
+	@Benchmark
+	public List<Arco<Integer>> backtrackingIterativoLimitado() {
+		return limitado(new BacktrackingIterativo(true)).buscarSolucion(arcos);
+	}
+
+	private static Backtracking limitado(Backtracking backtracking) {
+		backtracking.setArranqueGreedy(true);
+		backtracking.setLimiteNodos(LIMITE_NODOS);
+		return backtracking;
+	}
+}
@@ -0,0 +1,118 @@
+package entrega2.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entrega2.util.UnionFind;
+import entrega2.util.UnionFindConcurrente;
+import entrega2.util.UnionFindSecuencial;
+
+/**
+ * Benchmarks de las operaciones de {@link UnionFind} y sus variantes. Cada medicion recorre un
+ * arreglo fijo de operaciones, asi que el tiempo reportado es por lote.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnionFindBenchmark {
+
+	@Param({ "1000", "100000" })
+	private int elementos;
+
+	private int[] uniones;
+	private int[] consultas;
+	private UnionFind armado;
+	private UnionFindSecuencial armadoSecuencial;
+
+	@Setup
+	public void preparar() {
+		Random random = new Random(42);
+		uniones = new int[2 * elementos];
+		for (int i = 0; i < uniones.length; i++) {
+			uniones[i] = random.nextInt(elementos);
+		}
+		consultas = new int[elementos];
+		for (int i = 0; i < consultas.length; i++) {
+			consultas[i] = random.nextInt(elementos);
+		}
+
+		// Estructura con la mitad de las uniones hechas, para find y clone
+		armado = new UnionFind(elementos);
+		for (int i = 0; i < elementos; i += 2) {
+			armado.union(uniones[i], uniones[i + 1]);
+		}
+		armadoSecuencial = new UnionFindSecuencial(elementos);
+		for (int i = 0; i < elementos; i += 2) {
+			armadoSecuencial.union(uniones[i], uniones[i + 1]);
+		}
+	}
+
+	@Benchmark
+	public int union() {
+		UnionFind union = new UnionFind(elementos);
+		for (int i = 0; i < uniones.length; i += 2) {
+			union.union(uniones[i], uniones[i + 1]);
+		}
+		return union.numberOfSets();
+	}
+
+	@Benchmark
+	public int find() {
+		int suma = 0;
+		for (int consulta : consultas) {
+			suma += armado.find(consulta);
+		}
+		return suma;
+	}
+
+	@Benchmark
+	public UnionFind copiar() {
+		return armado.clone();
+	}
+
+	@Benchmark
+	public int unionSecuencial() {
+		UnionFindSecuencial union = new UnionFindSecuencial(elementos);
+		for (int i = 0; i < uniones.length; i += 2) {
+			union.union(uniones[i], uniones[i + 1]);
+		}
+		return union.numberOfSets();
+	}
+
+	@Benchmark
+	public int findSecuencial() {
+		int suma = 0;
+		for (int consulta : consultas) {
+			suma += armadoSecuencial.find(consulta);
+		}
+		return suma;
+	}
+
+	/**
+	 * Mismas uniones que {@link #union()} desde un solo hilo, para medir el costo
+	 * de los compare-and-set frente a la version secuencial.
+	 */
+	@Benchmark
+	public int unionConcurrente() {
+		UnionFindConcurrente union = new UnionFindConcurrente(elementos);
+		for (int i = 0; i < uniones.length; i += 2) {
+			union.union(uniones[i], uniones[i + 1]);
+		}
+		return union.numberOfSets();
+	}
+}
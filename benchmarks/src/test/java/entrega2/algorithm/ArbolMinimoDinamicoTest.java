@@ -0,0 +1,130 @@
+package entrega2.algorithm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import entrega2.model.grafo.Arco;
+
+/**
+ * Despues de cada cambio, el arbol que mantiene {@link ArbolMinimoDinamico} tiene
+ * que tener los mismos kilometros y la misma cantidad de tuneles que el bosque
+ * minimo que obtiene {@link KruskalPrimitivo} resolviendo la red desde cero.
+ */
+public class ArbolMinimoDinamicoTest {
+
+	@Test
+	public void repetidosConservanElMasCorto() {
+		ArbolMinimoDinamico arbol = new ArbolMinimoDinamico(Arrays.asList(new Arco<Integer>(1, 2, 9),
+				new Arco<Integer>(2, 1, 4), new Arco<Integer>(2, 3, 5), new Arco<Integer>(3, 3, 1)));
+		assertEquals(9, arbol.getKms());
+		assertEquals(2, arbol.getCantidadArcos());
+	}
+
+	@Test
+	public void cerrarUnPuenteDesconectaLaRed() {
+		ArbolMinimoDinamico arbol = new ArbolMinimoDinamico(
+				Arrays.asList(new Arco<Integer>(1, 2, 3), new Arco<Integer>(2, 3, 4)));
+		assertTrue(arbol.cerrarTunel(3, 2));
+		assertEquals(3, arbol.getKms());
+		assertEquals(1, arbol.getCantidadArcos());
+		assertFalse(arbol.cerrarTunel(2, 3));
+		assertFalse(arbol.cambiarKm(1, 7, 1));
+	}
+
+	@Test
+	public void redesChicasYDensas() {
+		Random random = new Random(42);
+		for (int ronda = 0; ronda < 200; ronda++) {
+			operar(random, 2 + random.nextInt(30), 1 + random.nextInt(ronda % 2 == 0 ? 10 : 1000), 100);
+		}
+	}
+
+	@Test
+	public void redesGrandesConEstacionesDispersas() {
+		Random random = new Random(7);
+		for (int ronda = 0; ronda < 5; ronda++) {
+			operar(random, 100 + random.nextInt(200), 50, 1000);
+		}
+	}
+
+	/**
+	 * Aplica operaciones al azar sobre una red de la cantidad de estaciones pedida,
+	 * con identificadores de estacion dispersos y negativos.
+	 */
+	private void operar(Random random, int estaciones, int kmMaximo, int pasos) {
+		int[] id = new int[estaciones];
+		for (int i = 0; i < estaciones; i++) {
+			id[i] = (i * -7919) ^ 0x5555;
+		}
+
+		// Un tunel por par, con probabilidad 0.3
+		Map<Long, Arco<Integer>> red = new HashMap<>();
+		for (int a = 0; a < estaciones; a++) {
+			for (int b = a + 1; b < estaciones; b++) {
+				if (random.nextDouble() < 0.3) {
+					red.put(par(a, b), new Arco<Integer>(id[a], id[b], 1 + random.nextInt(kmMaximo)));
+				}
+			}
+		}
+
+		ArbolMinimoDinamico arbol = new ArbolMinimoDinamico(new ArrayList<>(red.values()));
+		comparar(red, arbol);
+
+		for (int paso = 0; paso < pasos; paso++) {
+			int a = random.nextInt(estaciones);
+			int b = random.nextInt(estaciones);
+			if (a == b) {
+				continue;
+			}
+			int km = 1 + random.nextInt(kmMaximo);
+			Long clave = par(a, b);
+
+			switch (random.nextInt(3)) {
+			case 0:
+				arbol.agregarTunel(id[a], id[b], km);
+				red.put(clave, new Arco<Integer>(id[a], id[b], km));
+				break;
+			case 1:
+				assertEquals(red.containsKey(clave), arbol.cerrarTunel(id[a], id[b]));
+				red.remove(clave);
+				break;
+			default:
+				assertEquals(red.containsKey(clave), arbol.cambiarKm(id[a], id[b], km));
+				if (red.containsKey(clave)) {
+					red.put(clave, new Arco<Integer>(id[a], id[b], km));
+				}
+			}
+
+			comparar(red, arbol);
+		}
+	}
+
+	private void comparar(Map<Long, Arco<Integer>> red, ArbolMinimoDinamico arbol) {
+		KruskalPrimitivo kruskal = new KruskalPrimitivo();
+		List<Arco<Integer>> esperada = kruskal.buscarSolucion(new ArrayList<>(red.values()));
+		assertEquals(kruskal.getKms(), arbol.getKms());
+		assertEquals(esperada.size(), arbol.getCantidadArcos());
+
+		List<Arco<Integer>> solucion = arbol.getSolucion();
+		assertEquals(esperada.size(), solucion.size());
+		int kms = 0;
+		for (Arco<Integer> tunel : solucion) {
+			kms += tunel.getEtiqueta();
+		}
+		assertEquals(arbol.getKms(), kms);
+	}
+
+	private static Long par(int a, int b) {
+		return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+	}
+}
@@ -0,0 +1,84 @@
+package entrega2.algorithm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import entrega2.model.grafo.Arco;
+
+/**
+ * {@link KruskalExterno} tiene que elegir los mismos tuneles que {@link Greedy},
+ * devolviendo los arcos de la lista recibida, y no dejar corridas en el
+ * directorio aunque tenga que mezclarlas en varias pasadas.
+ */
+public class KruskalExternoTest {
+
+	@Rule
+	public TemporaryFolder carpeta = new TemporaryFolder();
+
+	@Test
+	public void mismosArcosQueGreedy() throws IOException {
+		Random random = new Random(7);
+		File directorio = carpeta.newFolder();
+		for (int ronda = 0; ronda < 200; ronda++) {
+			List<Arco<Integer>> red = red(random, 2 + random.nextInt(40), 1 + random.nextInt(150));
+
+			Greedy greedy = new Greedy();
+			List<Arco<Integer>> esperada = greedy.buscarSolucion(new ArrayList<>(red));
+			// Con corridas de 1 a 10 tuneles hay mas de CORRIDAS_POR_MEZCLA corridas
+			KruskalExterno externo = new KruskalExterno(1 + random.nextInt(10), directorio);
+			List<Arco<Integer>> solucion = externo.buscarSolucion(red);
+
+			assertEquals(greedy.getKms(), externo.getKms());
+			assertEquals(greedy.getMetrica(), externo.getMetrica());
+			assertEquals(esperada.size(), solucion.size());
+			for (int i = 0; i < esperada.size(); i++) {
+				assertSame(esperada.get(i), solucion.get(i));
+			}
+			assertEquals(0, directorio.list().length);
+		}
+	}
+
+	@Test
+	public void leerDeUnArchivo() throws IOException {
+		Random random = new Random(11);
+		File directorio = carpeta.newFolder();
+		List<Arco<Integer>> red = red(random, 500, 5000);
+		File archivo = carpeta.newFile();
+		try (Writer salida = new FileWriter(archivo)) {
+			for (Arco<Integer> tunel : red) {
+				salida.write("E" + tunel.getVerticeOrigen() + ";E" + tunel.getVerticeDestino() + ";"
+						+ tunel.getEtiqueta() + "\n");
+			}
+		}
+
+		KruskalPrimitivo kruskal = new KruskalPrimitivo();
+		List<Arco<Integer>> esperada = kruskal.buscarSolucion(red);
+		KruskalExterno externo = new KruskalExterno(64, directorio);
+		List<Arco<Integer>> solucion = externo.buscarSolucion(archivo.getPath());
+
+		assertEquals(kruskal.getKms(), externo.getKms());
+		assertEquals(esperada.size(), solucion.size());
+		assertEquals(0, directorio.list().length);
+	}
+
+	private static List<Arco<Integer>> red(Random random, int estaciones, int tuneles) {
+		List<Arco<Integer>> red = new ArrayList<>();
+		for (int i = 0; i < tuneles; i++) {
+			red.add(new Arco<Integer>(1 + random.nextInt(estaciones), 1 + random.nextInt(estaciones),
+					random.nextInt(10)));
+		}
+		return red;
+	}
+}
@@ -0,0 +1,66 @@
+package entrega2.algorithm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import entrega2.model.grafo.Arco;
+
+/**
+ * Las dos variantes de {@link Prim} tienen que dar los mismos kilometros y la
+ * misma cantidad de tuneles que {@link Greedy}, tambien con tuneles repetidos,
+ * lazos, kilometros negativos y redes no conexas.
+ */
+public class PrimTest {
+
+	@Test
+	public void variantesIgualesAGreedy() {
+		Random random = new Random(5);
+		for (int ronda = 0; ronda < 300; ronda++) {
+			int estaciones = 1 + random.nextInt(30);
+			List<Arco<Integer>> red = new ArrayList<>();
+			for (int i = 2; i <= estaciones; i++) {
+				if (random.nextInt(10) > 0) {
+					red.add(new Arco<Integer>(i * 7, 7 * (1 + random.nextInt(i - 1)), random.nextInt(10) - 3));
+				}
+			}
+			int extra = random.nextInt(200);
+			for (int i = 0; i < extra; i++) {
+				red.add(new Arco<Integer>(7 * (1 + random.nextInt(estaciones)), 7 * (1 + random.nextInt(estaciones)),
+						random.nextInt(10) - 3));
+			}
+			Collections.shuffle(red, random);
+			if (red.isEmpty()) {
+				continue;
+			}
+
+			Greedy greedy = new Greedy();
+			List<Arco<Integer>> esperada = greedy.buscarSolucion(new ArrayList<>(red));
+			for (Prim.Variante variante : Prim.Variante.values()) {
+				Prim prim = new Prim(variante);
+				List<Arco<Integer>> solucion = prim.buscarSolucion(red);
+				int kms = 0;
+				for (Arco<Integer> tunel : solucion) {
+					kms += tunel.getEtiqueta();
+				}
+				assertEquals(variante + ", ronda " + ronda, greedy.getKms(), prim.getKms());
+				assertEquals(variante + ", ronda " + ronda, greedy.getKms(), kms);
+				assertEquals(variante + ", ronda " + ronda, esperada.size(), solucion.size());
+			}
+		}
+	}
+
+	@Test
+	public void laMatrizDensaEntraEnLaMemoria() {
+		long v = Prim.maxEstacionesDensa();
+		assertTrue(v > 0);
+		assertTrue(v * v * Integer.BYTES <= Runtime.getRuntime().maxMemory() * Prim.FRACCION_MEMORIA_DENSA);
+		assertTrue(v * v <= Integer.MAX_VALUE);
+	}
+}
@@ -0,0 +1,104 @@
+package entrega2.algorithm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import entrega2.model.Solucion;
+import entrega2.model.grafo.Arco;
+
+/**
+ * {@link ResolutorCacheado} solo guarda soluciones optimas, y la copia en disco
+ * de {@link CacheSoluciones} no hace fallar la busqueda.
+ */
+public class ResolutorCacheadoTest {
+
+	@Rule
+	public TemporaryFolder carpeta = new TemporaryFolder();
+
+	@Test
+	public void noGuardaUnaSolucionLimitadaDetrasDeLaKernelizacion() {
+		List<Arco<Integer>> red = redDensa(12, 200);
+		CacheSoluciones cache = new CacheSoluciones(1000);
+
+		Backtracking limitado = new Backtracking();
+		limitado.setLimiteNodos(3);
+		ResolutorCacheado cacheado = new ResolutorCacheado(new ResolutorKernelizado(limitado), cache);
+		cacheado.buscarSolucion(red);
+		assertFalse(cacheado.esOptima());
+		assertEquals(0, cache.size());
+
+		KruskalPrimitivo kruskal = new KruskalPrimitivo();
+		kruskal.buscarSolucion(red);
+		ResolutorCacheado exacto = new ResolutorCacheado(new ResolutorKernelizado(new Backtracking()), cache);
+		exacto.buscarSolucion(red);
+		assertTrue(exacto.esOptima());
+		assertEquals(kruskal.getKms(), exacto.getKms());
+		assertEquals(1, cache.size());
+
+		exacto.buscarSolucion(red);
+		assertTrue(exacto.isAcierto());
+		assertEquals(kruskal.getKms(), exacto.getKms());
+	}
+
+	@Test
+	public void unaFallaDelDiscoNoPierdeLaSolucion() throws IOException {
+		File directorio = carpeta.newFolder();
+		CacheSoluciones cache = new CacheSoluciones(1000, directorio);
+		List<Arco<Integer>> red = Arrays.asList(new Arco<Integer>(1, 2, 5), new Arco<Integer>(2, 3, 4));
+		String clave = CacheSoluciones.clave(red, "Prim");
+
+		// Un directorio con el nombre del archivo de la clave impide renombrar el temporal
+		File bloqueo = new File(directorio, clave + ".sol");
+		assertTrue(bloqueo.mkdir());
+		assertTrue(new File(bloqueo, "otro").createNewFile());
+
+		cache.guardar(clave, new Solucion(red, 9, 1, 0, "Prim"));
+		assertNotNull(cache.obtener(clave));
+		assertEquals(1, directorio.list().length);
+	}
+
+	@Test
+	public void unArchivoTruncadoEsUnFallo() throws IOException {
+		File directorio = carpeta.newFolder();
+		List<Arco<Integer>> red = Arrays.asList(new Arco<Integer>(1, 2, 5), new Arco<Integer>(2, 3, 4));
+		String clave = CacheSoluciones.clave(red, "Prim");
+		File archivo = new File(directorio, clave + ".sol");
+		try (FileOutputStream salida = new FileOutputStream(archivo)) {
+			salida.write(new byte[] { 0, 0, 0 });
+		}
+
+		assertNull(new CacheSoluciones(1000, directorio).obtener(clave));
+		assertFalse(archivo.exists());
+	}
+
+	private static List<Arco<Integer>> redDensa(int estaciones, int extra) {
+		Random random = new Random(3);
+		List<Arco<Integer>> red = new ArrayList<>();
+		for (int i = 2; i <= estaciones; i++) {
+			red.add(new Arco<Integer>(i, 1 + random.nextInt(i - 1), 1 + random.nextInt(100)));
+		}
+		for (int i = 0; i < extra; i++) {
+			int a = 1 + random.nextInt(estaciones);
+			int b = 1 + random.nextInt(estaciones);
+			if (a != b) {
+				red.add(new Arco<Integer>(a, b, 1 + random.nextInt(100)));
+			}
+		}
+		return red;
+	}
+}
@@ -0,0 +1,125 @@
+package entrega2.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import entrega2.model.ArcosPrimitivos;
+
+/**
+ * La lectura en paralelo de {@link LectorMapeado}, con distintas cantidades de
+ * hilos, tiene que dar exactamente los mismos arreglos y las mismas estaciones
+ * que la secuencial, y con una linea mal formada el mismo error.
+ */
+public class LectorMapeadoTest {
+
+	private static final int[] HILOS = { 1, 2, 3, 8 };
+
+	@Rule
+	public TemporaryFolder carpeta = new TemporaryFolder();
+
+	private final Random random = new Random(42);
+
+	@Test
+	public void paraleloIgualASecuencial() throws IOException {
+		for (int ronda = 0; ronda < 6; ronda++) {
+			File archivo = escribir(ronda % 2 == 0 ? 100 : 1000000, -1);
+			ArcosPrimitivos secuencial = new LectorMapeado(archivo.getPath()).getArcosPrimitivos();
+			for (int hilos : HILOS) {
+				ForkJoinPool pool = new ForkJoinPool(hilos);
+				try {
+					comparar(secuencial, new LectorMapeado(archivo.getPath(), pool).getArcosPrimitivos());
+				} finally {
+					pool.shutdown();
+				}
+			}
+		}
+	}
+
+	@Test
+	public void lineaMalFormadaDaElMismoError() throws IOException {
+		for (int ronda = 0; ronda < 3; ronda++) {
+			File archivo = escribir(1000, random.nextInt(100000));
+			String esperado = error(new LectorMapeado(archivo.getPath()));
+			for (int hilos : HILOS) {
+				ForkJoinPool pool = new ForkJoinPool(hilos);
+				try {
+					assertEquals(hilos + " hilos", esperado, error(new LectorMapeado(archivo.getPath(), pool)));
+				} finally {
+					pool.shutdown();
+				}
+			}
+		}
+	}
+
+	private static String error(LectorMapeado lector) throws IOException {
+		try {
+			lector.getArcosPrimitivos();
+		} catch (IllegalArgumentException e) {
+			return e.getMessage();
+		}
+		fail("La linea mal formada no se informo");
+		return null;
+	}
+
+	/**
+	 * Escribe un archivo de tuneles de entre 2 y 6 porciones minimas, para que
+	 * siempre se lea en paralelo, con espacios, finales de linea \r\n, lineas
+	 * vacias y kilometros negativos.
+	 *
+	 * @param lineaMal Numero de linea que se escribe mal formada, o -1 para
+	 *                 ninguna.
+	 */
+	private File escribir(int estaciones, int lineaMal) throws IOException {
+		File archivo = carpeta.newFile();
+		long bytes = (2 + random.nextInt(5)) * (long) LectorMapeado.PORCION_MINIMA;
+		long escritos = 0;
+		int linea = 0;
+		try (BufferedWriter salida = new BufferedWriter(new FileWriter(archivo))) {
+			while (escritos < bytes) {
+				StringBuilder texto = new StringBuilder();
+				if (random.nextInt(50) == 0) {
+					texto.append(random.nextBoolean() ? "" : "  ");
+				} else {
+					String espacio = random.nextInt(10) == 0 ? " " : "";
+					texto.append(espacio).append('E').append(1 + random.nextInt(estaciones)).append(espacio).append(';');
+					texto.append(espacio).append('E').append(1 + random.nextInt(estaciones)).append(';');
+					texto.append(espacio).append(random.nextInt(2000) - 100);
+					if (linea == lineaMal) {
+						texto.append('x');
+					}
+				}
+				texto.append(random.nextInt(4) == 0 ? "\r\n" : "\n");
+				salida.write(texto.toString());
+				escritos += texto.length();
+				linea++;
+			}
+		}
+		return archivo;
+	}
+
+	private static void comparar(ArcosPrimitivos esperado, ArcosPrimitivos obtenido) {
+		int cantidad = esperado.getCantidad();
+		assertEquals(cantidad, obtenido.getCantidad());
+		assertEquals(esperado.getCantidadEstaciones(), obtenido.getCantidadEstaciones());
+		for (int i = 0; i < esperado.getCantidadEstaciones(); i++) {
+			assertEquals(esperado.getEstacion(i), obtenido.getEstacion(i));
+		}
+		assertArrayEquals(Arrays.copyOf(esperado.getOrigenes(), cantidad), Arrays.copyOf(obtenido.getOrigenes(), cantidad));
+		assertArrayEquals(Arrays.copyOf(esperado.getDestinos(), cantidad), Arrays.copyOf(obtenido.getDestinos(), cantidad));
+		assertArrayEquals(Arrays.copyOf(esperado.getEtiquetas(), cantidad),
+				Arrays.copyOf(obtenido.getEtiquetas(), cantidad));
+	}
+}
@@ -0,0 +1,78 @@
+package entrega2.util;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import entrega2.util.OrdenamientoArcos.Algoritmo;
+
+/**
+ * El radix sort y el orden en paralelo de {@link OrdenamientoArcos} tienen que
+ * dar el mismo orden que Arrays.sort, incluidos los empates.
+ */
+public class OrdenamientoArcosTest {
+
+	private final Random random = new Random(42);
+
+	@Test
+	public void kilometrosAcotados() {
+		for (int cantidad : new int[] { 0, 1, 100, 100000 }) {
+			verificar(azar(cantidad, 0, 1000));
+		}
+	}
+
+	@Test
+	public void kilometrosNegativos() {
+		verificar(azar(10000, -1000, 1000));
+	}
+
+	@Test
+	public void todosIguales() {
+		int[] etiquetas = new int[10000];
+		Arrays.fill(etiquetas, 7);
+		verificar(etiquetas);
+	}
+
+	@Test
+	public void rangoCompletoDeInt() {
+		int[] etiquetas = new int[100000];
+		for (int i = 0; i < etiquetas.length; i++) {
+			etiquetas[i] = random.nextInt();
+		}
+		etiquetas[0] = Integer.MIN_VALUE;
+		etiquetas[1] = Integer.MAX_VALUE;
+		verificar(etiquetas);
+	}
+
+	@Test
+	public void subrangoNoTocaElResto() {
+		int[] etiquetas = azar(1000, -500, 500);
+		for (int ronda = 0; ronda < 50; ronda++) {
+			long[] claves = OrdenamientoArcos.claves(etiquetas, etiquetas.length);
+			int desde = random.nextInt(etiquetas.length);
+			int hasta = desde + random.nextInt(etiquetas.length - desde + 1);
+			long[] esperado = claves.clone();
+			Arrays.sort(esperado, desde, hasta);
+			OrdenamientoArcos.radix(claves, desde, hasta);
+			assertArrayEquals("[" + desde + ", " + hasta + ")", esperado, claves);
+		}
+	}
+
+	private void verificar(int[] etiquetas) {
+		long[] esperado = OrdenamientoArcos.ordenar(etiquetas, etiquetas.length, Algoritmo.COMPARACION);
+		assertArrayEquals("radix", esperado, OrdenamientoArcos.ordenar(etiquetas, etiquetas.length, Algoritmo.RADIX));
+		assertArrayEquals("paralelo", esperado,
+				OrdenamientoArcos.ordenar(etiquetas, etiquetas.length, Algoritmo.PARALELO));
+	}
+
+	private int[] azar(int cantidad, int minimo, int maximo) {
+		int[] etiquetas = new int[cantidad];
+		for (int i = 0; i < cantidad; i++) {
+			etiquetas[i] = minimo + random.nextInt(maximo - minimo);
+		}
+		return etiquetas;
+	}
+}
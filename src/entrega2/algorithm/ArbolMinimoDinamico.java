@@ -0,0 +1,630 @@
+package entrega2.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import entrega2.model.ArcosPrimitivos;
+import entrega2.model.grafo.Arco;
+import entrega2.util.ArbolLinkCut;
+import entrega2.util.IndiceEstaciones;
+
+/**
+ * Mantiene el arbol de expansion minimo de una red de tuneles que cambia con el
+ * tiempo, sin resolver todo de nuevo en cada cambio. Cada tunel se identifica
+ * por su par de estaciones (sin importar el sentido), asi que hay a lo sumo un
+ * tunel por par; si la red inicial trae repetidos se conserva el mas corto.
+ * <ul>
+ * <li>Agregar un tunel, o acortar uno que no esta en el arbol: si es mas corto
+ * que el tunel mas largo del camino del arbol entre sus estaciones, lo
+ * reemplaza.</li>
+ * <li>Cerrar un tunel del arbol, o alargarlo: se busca el tunel mas corto que
+ * vuelve a unir las dos partes del arbol.</li>
+ * <li>Acortar un tunel del arbol o alargar uno que no esta en el arbol no cambia
+ * el arbol.</li>
+ * </ul>
+ * Si la red no es conexa se mantiene un bosque de expansion minimo.
+ * <p>
+ * El arbol se guarda ademas en un {@link ArbolLinkCut}, que permite encontrar el
+ * tunel mas largo de un camino en O(log V) amortizado. Las estaciones se
+ * traducen a indices densos con un {@link IndiceEstaciones}, y los tuneles de la
+ * red y del arbol se guardan en listas de adyacencia sobre arreglos primitivos.
+ * <p>
+ * Reconectar el arbol despues de cerrar o alargar uno de sus tuneles cuesta
+ * O(S + G), donde S es la cantidad de estaciones de la parte mas chica y G la
+ * suma de sus grados en la red. En el peor caso, un corte que deja dos partes de
+ * V / 2 estaciones en una red densa, es O(V + N), del orden de resolver de
+ * nuevo. Las demas actualizaciones son O(log V) amortizado.
+ */
+public class ArbolMinimoDinamico {
+
+	private static final int[] VACIO = new int[0];
+
+	private IndiceEstaciones indice;
+
+	/**
+	 * Tunel de cada par de estaciones, por la clave de {@link #par(int, int)}.
+	 */
+	private TablaPares pares;
+
+	/**
+	 * adyacentes[e][0 .. grado[e] - 1] = tuneles de la red de la estacion e;
+	 * adyacentesArbol y gradoArbol, lo mismo solo con los tuneles del arbol.
+	 */
+	private int[][] adyacentes;
+	private int[] grado;
+	private int[][] adyacentesArbol;
+	private int[] gradoArbol;
+
+	/**
+	 * Nodo de cada estacion en el bosque dinamico.
+	 */
+	private int[] nodoEstacion;
+
+	/**
+	 * Datos de cada tunel t: extremos[2 * t] y extremos[2 * t + 1] son sus
+	 * estaciones, posicion[2 * t + lado] su posicion en la lista de adyacencia de
+	 * cada extremo (posicionArbol lo mismo en el arbol), y nodoTunel[t] su nodo en
+	 * el bosque, o -1 si no esta en el arbol.
+	 */
+	private int[] extremos;
+	private int[] km;
+	private int[] posicion;
+	private int[] posicionArbol;
+	private int[] nodoTunel;
+	private int cantidadTuneles;
+	private int[] libres;
+	private int cantidadLibres;
+
+	/**
+	 * Bosque dinamico con un nodo por estacion y un nodo por tunel del arbol.
+	 * tunelDeNodo[n] = tunel del nodo n, o -1 si es de una estacion.
+	 */
+	private ArbolLinkCut bosque;
+	private int[] tunelDeNodo;
+
+	/**
+	 * Buffers del recorrido de {@link #reconectar(int, int)}, que se reutilizan
+	 * entre actualizaciones. Una estacion esta visitada si su marca es la del
+	 * recorrido actual, asi que no hace falta limpiarlos.
+	 */
+	private int[] marca;
+	private int generacion;
+	private int[] filaA;
+	private int[] filaB;
+
+	private int kms;
+	private int cantidadArcosArbol;
+
+	/**
+	 * Constructor de la clase ArbolMinimoDinamico, con una red inicial.
+	 *
+	 * Complejidad: O(N log N), donde N es la cantidad de tuneles.
+	 *
+	 * @param candidatos Tuneles de la red inicial.
+	 */
+	public ArbolMinimoDinamico(List<Arco<Integer>> candidatos) {
+		this.indice = new IndiceEstaciones();
+		this.pares = new TablaPares(candidatos.size());
+		this.adyacentes = new int[16][];
+		this.grado = new int[16];
+		this.adyacentesArbol = new int[16][];
+		this.gradoArbol = new int[16];
+		this.nodoEstacion = new int[16];
+		this.marca = new int[16];
+		this.filaA = new int[16];
+		this.filaB = new int[16];
+		this.generacion = 0;
+
+		int capacidad = Math.max(16, candidatos.size());
+		this.extremos = new int[2 * capacidad];
+		this.km = new int[capacidad];
+		this.posicion = new int[2 * capacidad];
+		this.posicionArbol = new int[2 * capacidad];
+		this.nodoTunel = new int[capacidad];
+		this.cantidadTuneles = 0;
+		this.libres = new int[16];
+		this.cantidadLibres = 0;
+
+		this.bosque = new ArbolLinkCut(candidatos.size());
+		this.tunelDeNodo = new int[16];
+		this.kms = 0;
+		this.cantidadArcosArbol = 0;
+
+		// Un tunel por par de estaciones: el mas corto
+		for (Arco<Integer> arco : candidatos) {
+			if (arco.getVerticeOrigen() == arco.getVerticeDestino()) {
+				continue;
+			}
+			int a = estacion(arco.getVerticeOrigen());
+			int b = estacion(arco.getVerticeDestino());
+			int t = pares.obtener(par(a, b));
+			if (t == -1) {
+				nuevoTunel(a, b, arco.getEtiqueta());
+			} else if (arco.getEtiqueta() < km[t]) {
+				km[t] = arco.getEtiqueta();
+			}
+		}
+
+		// Arbol inicial con Kruskal. Al construir no hay tuneles liberados, asi que
+		// los tuneles son 0 .. cantidadTuneles - 1.
+		int[] origenes = new int[cantidadTuneles];
+		int[] destinos = new int[cantidadTuneles];
+		for (int t = 0; t < cantidadTuneles; t++) {
+			origenes[t] = extremos[2 * t];
+			destinos[t] = extremos[2 * t + 1];
+		}
+		ArcosPrimitivos arcos = ArcosPrimitivos.desdeIndices(origenes, destinos, km, cantidadTuneles, indice);
+		for (int t : new KruskalPrimitivo().resolver(arcos)) {
+			agregarAlArbol(t);
+		}
+	}
+
+	/**
+	 * Agrega un tunel a la red. Si ya existia un tunel entre esas estaciones, se
+	 * actualizan sus kilometros.
+	 *
+	 * Complejidad: O(log V) amortizado, donde V es la cantidad de estaciones.
+	 *
+	 * @param origen  Estacion de origen.
+	 * @param destino Estacion de destino.
+	 * @param km      Kilometros del tunel.
+	 */
+	public void agregarTunel(int origen, int destino, int km) {
+		if (origen == destino) {
+			return;
+		}
+		int a = estacion(origen);
+		int b = estacion(destino);
+		int t = pares.obtener(par(a, b));
+		if (t != -1) {
+			cambiarKm(t, km);
+			return;
+		}
+
+		insertarCandidato(nuevoTunel(a, b, km));
+	}
+
+	/**
+	 * Cierra el tunel entre dos estaciones. Si estaba en el arbol, se busca el
+	 * tunel mas corto que vuelve a unir las dos partes.
+	 *
+	 * Complejidad: O(S + G), donde S es la cantidad de estaciones de la parte mas
+	 * chica del arbol y G la cantidad de tuneles que salen de ellas; O(V + N) en el
+	 * peor caso.
+	 *
+	 * @param origen  Estacion de origen.
+	 * @param destino Estacion de destino.
+	 * @return true si el tunel existia.
+	 */
+	public boolean cerrarTunel(int origen, int destino) {
+		int t = buscarTunel(origen, destino);
+		if (t == -1) {
+			return false;
+		}
+
+		int a = extremos[2 * t];
+		int b = extremos[2 * t + 1];
+		boolean enArbol = nodoTunel[t] != -1;
+		if (enArbol) {
+			quitarDelArbol(t);
+		}
+		liberarTunel(t);
+		if (enArbol) {
+			reconectar(a, b);
+		}
+		return true;
+	}
+
+	/**
+	 * Cambia los kilometros del tunel entre dos estaciones.
+	 *
+	 * Complejidad: ver {@link #agregarTunel} y {@link #cerrarTunel}.
+	 *
+	 * @param origen  Estacion de origen.
+	 * @param destino Estacion de destino.
+	 * @param km      Nuevos kilometros del tunel.
+	 * @return true si el tunel existia.
+	 */
+	public boolean cambiarKm(int origen, int destino, int km) {
+		int t = buscarTunel(origen, destino);
+		if (t == -1) {
+			return false;
+		}
+		cambiarKm(t, km);
+		return true;
+	}
+
+	/**
+	 * Obtiene los kilometros totales del arbol actual.
+	 *
+	 * Complejidad: O(1)
+	 *
+	 * @return Kilometros totales.
+	 */
+	public int getKms() {
+		return kms;
+	}
+
+	/**
+	 * Obtiene la cantidad de tuneles del arbol actual.
+	 *
+	 * @return Cantidad de tuneles del arbol.
+	 */
+	public int getCantidadArcos() {
+		return cantidadArcosArbol;
+	}
+
+	/**
+	 * Obtiene los tuneles del arbol actual.
+	 *
+	 * Complejidad: O(V), donde V es la cantidad de estaciones.
+	 *
+	 * @return Lista de arcos del arbol.
+	 */
+	public List<Arco<Integer>> getSolucion() {
+		List<Arco<Integer>> solucion = new ArrayList<>(cantidadArcosArbol);
+		for (int e = 0; e < indice.cantidad(); e++) {
+			for (int i = 0; i < gradoArbol[e]; i++) {
+				int t = adyacentesArbol[e][i];
+				// Cada tunel se agrega una vez, desde su primer extremo
+				if (extremos[2 * t] == e) {
+					solucion.add(new Arco<Integer>(indice.estacion(e), indice.estacion(extremos[2 * t + 1]), km[t]));
+				}
+			}
+		}
+		return solucion;
+	}
+
+	private void cambiarKm(int t, int nuevo) {
+		int anterior = km[t];
+		boolean enArbol = nodoTunel[t] != -1;
+
+		if (enArbol && nuevo <= anterior) {
+			// Un tunel del arbol que se acorta sigue siendo parte del arbol minimo
+			quitarDelArbol(t);
+			km[t] = nuevo;
+			agregarAlArbol(t);
+		} else if (enArbol) {
+			// Se alarga: el arbol se corta y se busca el mejor tunel para reconectarlo,
+			// que puede ser el mismo tunel con su nuevo kilometraje
+			quitarDelArbol(t);
+			km[t] = nuevo;
+			reconectar(extremos[2 * t], extremos[2 * t + 1]);
+		} else {
+			km[t] = nuevo;
+			if (nuevo < anterior) {
+				insertarCandidato(t);
+			}
+		}
+	}
+
+	/**
+	 * Considera un tunel que no esta en el arbol: si une dos arboles distintos se
+	 * agrega, y si es mas corto que el tunel mas largo del camino del arbol entre
+	 * sus estaciones, lo reemplaza.
+	 */
+	private void insertarCandidato(int t) {
+		int nodoOrigen = nodoEstacion[extremos[2 * t]];
+		int nodoDestino = nodoEstacion[extremos[2 * t + 1]];
+		if (!bosque.connected(nodoOrigen, nodoDestino)) {
+			agregarAlArbol(t);
+			return;
+		}
+
+		// Tunel mas largo del camino del arbol entre las dos estaciones
+		int maximo = bosque.maxOnPath(nodoOrigen, nodoDestino);
+		if (km[t] < bosque.value(maximo)) {
+			quitarDelArbol(tunelDeNodo[maximo]);
+			agregarAlArbol(t);
+		}
+	}
+
+	/**
+	 * Busca el tunel mas corto que une las partes del arbol que contienen a a y a
+	 * b, y lo agrega si existe. Recorre las dos partes a la vez y se queda con la
+	 * que termina primero, que es la mas chica.
+	 */
+	private void reconectar(int a, int b) {
+		if (generacion > Integer.MAX_VALUE - 2) {
+			Arrays.fill(marca, 0);
+			generacion = 0;
+		}
+		int marcaA = ++generacion;
+		int marcaB = ++generacion;
+		marca[a] = marcaA;
+		marca[b] = marcaB;
+		filaA[0] = a;
+		filaB[0] = b;
+
+		int inicioA = 0, finA = 1, inicioB = 0, finB = 1;
+		int[] parte;
+		int cantidad;
+		int marcaParte;
+		while (true) {
+			if (inicioA == finA) {
+				parte = filaA;
+				cantidad = finA;
+				marcaParte = marcaA;
+				break;
+			}
+			finA = visitar(filaA[inicioA++], filaA, finA, marcaA);
+			if (inicioB == finB) {
+				parte = filaB;
+				cantidad = finB;
+				marcaParte = marcaB;
+				break;
+			}
+			finB = visitar(filaB[inicioB++], filaB, finB, marcaB);
+		}
+
+		int mejor = -1;
+		for (int i = 0; i < cantidad; i++) {
+			int e = parte[i];
+			for (int j = 0; j < grado[e]; j++) {
+				int t = adyacentes[e][j];
+				if (marca[otroExtremo(t, e)] != marcaParte && (mejor == -1 || km[t] < km[mejor])) {
+					mejor = t;
+				}
+			}
+		}
+
+		if (mejor != -1) {
+			agregarAlArbol(mejor);
+		}
+	}
+
+	/**
+	 * Agrega a la fila los vecinos en el arbol de la estacion que todavia no tienen
+	 * la marca del recorrido. Devuelve el nuevo final de la fila.
+	 */
+	private int visitar(int estacion, int[] fila, int fin, int marcaFila) {
+		for (int i = 0; i < gradoArbol[estacion]; i++) {
+			int vecino = otroExtremo(adyacentesArbol[estacion][i], estacion);
+			if (marca[vecino] != marcaFila) {
+				marca[vecino] = marcaFila;
+				fila[fin++] = vecino;
+			}
+		}
+		return fin;
+	}
+
+	private void agregarAlArbol(int t) {
+		this.kms += km[t];
+		this.cantidadArcosArbol++;
+		enlazar(adyacentesArbol, gradoArbol, posicionArbol, t);
+
+		int nodo = bosque.newNode(km[t]);
+		if (nodo >= tunelDeNodo.length) {
+			tunelDeNodo = Arrays.copyOf(tunelDeNodo, Math.max(tunelDeNodo.length * 2, nodo + 1));
+		}
+		tunelDeNodo[nodo] = t;
+		nodoTunel[t] = nodo;
+		bosque.link(nodoEstacion[extremos[2 * t]], nodo);
+		bosque.link(nodo, nodoEstacion[extremos[2 * t + 1]]);
+	}
+
+	private void quitarDelArbol(int t) {
+		this.kms -= km[t];
+		this.cantidadArcosArbol--;
+		desenlazar(adyacentesArbol, gradoArbol, posicionArbol, t);
+
+		int nodo = nodoTunel[t];
+		bosque.cut(nodoEstacion[extremos[2 * t]], nodo);
+		bosque.cut(nodo, nodoEstacion[extremos[2 * t + 1]]);
+		bosque.releaseNode(nodo);
+		nodoTunel[t] = -1;
+	}
+
+	/**
+	 * Crea un tunel de la red, reutilizando el numero de uno cerrado si hay.
+	 */
+	private int nuevoTunel(int a, int b, int kilometros) {
+		int t;
+		if (cantidadLibres > 0) {
+			t = libres[--cantidadLibres];
+		} else {
+			t = cantidadTuneles++;
+			if (t == km.length) {
+				int capacidad = km.length * 2;
+				extremos = Arrays.copyOf(extremos, 2 * capacidad);
+				km = Arrays.copyOf(km, capacidad);
+				posicion = Arrays.copyOf(posicion, 2 * capacidad);
+				posicionArbol = Arrays.copyOf(posicionArbol, 2 * capacidad);
+				nodoTunel = Arrays.copyOf(nodoTunel, capacidad);
+			}
+		}
+		extremos[2 * t] = a;
+		extremos[2 * t + 1] = b;
+		km[t] = kilometros;
+		nodoTunel[t] = -1;
+		pares.poner(par(a, b), t);
+		enlazar(adyacentes, grado, posicion, t);
+		return t;
+	}
+
+	private void liberarTunel(int t) {
+		desenlazar(adyacentes, grado, posicion, t);
+		pares.quitar(par(extremos[2 * t], extremos[2 * t + 1]));
+		if (cantidadLibres == libres.length) {
+			libres = Arrays.copyOf(libres, cantidadLibres * 2);
+		}
+		libres[cantidadLibres++] = t;
+	}
+
+	/**
+	 * Agrega el tunel al final de las listas de sus dos extremos.
+	 */
+	private void enlazar(int[][] listas, int[] grados, int[] posiciones, int t) {
+		for (int lado = 0; lado < 2; lado++) {
+			int e = extremos[2 * t + lado];
+			if (grados[e] == listas[e].length) {
+				listas[e] = Arrays.copyOf(listas[e], Math.max(4, grados[e] * 2));
+			}
+			posiciones[2 * t + lado] = grados[e];
+			listas[e][grados[e]++] = t;
+		}
+	}
+
+	/**
+	 * Quita el tunel de las listas de sus dos extremos, poniendo en su lugar el
+	 * ultimo de cada lista.
+	 */
+	private void desenlazar(int[][] listas, int[] grados, int[] posiciones, int t) {
+		for (int lado = 0; lado < 2; lado++) {
+			int e = extremos[2 * t + lado];
+			int ultimo = listas[e][--grados[e]];
+			int lugar = posiciones[2 * t + lado];
+			listas[e][lugar] = ultimo;
+			posiciones[2 * ultimo + (extremos[2 * ultimo] == e ? 0 : 1)] = lugar;
+		}
+	}
+
+	/**
+	 * Obtiene el indice denso de una estacion, y si es nueva le crea su nodo en el
+	 * bosque y su lugar en las listas.
+	 */
+	private int estacion(int id) {
+		int cantidad = indice.cantidad();
+		int e = indice.agregar(id);
+		if (e < cantidad) {
+			return e;
+		}
+
+		if (e == grado.length) {
+			int capacidad = grado.length * 2;
+			adyacentes = Arrays.copyOf(adyacentes, capacidad);
+			grado = Arrays.copyOf(grado, capacidad);
+			adyacentesArbol = Arrays.copyOf(adyacentesArbol, capacidad);
+			gradoArbol = Arrays.copyOf(gradoArbol, capacidad);
+			nodoEstacion = Arrays.copyOf(nodoEstacion, capacidad);
+			marca = Arrays.copyOf(marca, capacidad);
+			filaA = new int[capacidad];
+			filaB = new int[capacidad];
+		}
+		adyacentes[e] = VACIO;
+		adyacentesArbol[e] = VACIO;
+
+		int nodo = bosque.newNode(Integer.MIN_VALUE);
+		if (nodo >= tunelDeNodo.length) {
+			tunelDeNodo = Arrays.copyOf(tunelDeNodo, Math.max(tunelDeNodo.length * 2, nodo + 1));
+		}
+		tunelDeNodo[nodo] = -1;
+		nodoEstacion[e] = nodo;
+		return e;
+	}
+
+	/**
+	 * Obtiene el tunel entre dos estaciones, o -1 si no existe.
+	 */
+	private int buscarTunel(int origen, int destino) {
+		int a = indice.indice(origen);
+		int b = indice.indice(destino);
+		if (a == -1 || b == -1 || a == b) {
+			return -1;
+		}
+		return pares.obtener(par(a, b));
+	}
+
+	private int otroExtremo(int t, int e) {
+		return extremos[2 * t] == e ? extremos[2 * t + 1] : extremos[2 * t];
+	}
+
+	private static long par(int a, int b) {
+		return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+	}
+
+	/**
+	 * Tabla hash de pares de estaciones a tuneles, con direccionamiento abierto
+	 * sobre arreglos primitivos (sondeo lineal) como {@link IndiceEstaciones}. Al
+	 * quitar una clave se corren hacia atras las que la siguen, asi que no quedan
+	 * lapidas.
+	 */
+	private static final class TablaPares {
+		private long[] claves;
+		private int[] valores;
+		private int cantidad;
+
+		TablaPares(int esperados) {
+			int capacidad = Integer.highestOneBit(Math.max(8, esperados) * 2 - 1) << 1;
+			this.claves = new long[capacidad];
+			this.valores = new int[capacidad];
+			Arrays.fill(valores, -1);
+			this.cantidad = 0;
+		}
+
+		/**
+		 * Obtiene el valor de la clave, o -1 si no esta.
+		 */
+		int obtener(long clave) {
+			return valores[lugar(clave)];
+		}
+
+		void poner(long clave, int valor) {
+			int k = lugar(clave);
+			if (valores[k] == -1) {
+				claves[k] = clave;
+				cantidad++;
+			}
+			valores[k] = valor;
+			if (cantidad * 2 > claves.length) {
+				agrandar();
+			}
+		}
+
+		void quitar(long clave) {
+			int mascara = claves.length - 1;
+			int k = lugar(clave);
+			if (valores[k] == -1) {
+				return;
+			}
+			valores[k] = -1;
+			cantidad--;
+
+			// Correr al lugar libre las claves siguientes del grupo que pueden ocuparlo
+			int j = k;
+			while (true) {
+				j = (j + 1) & mascara;
+				if (valores[j] == -1) {
+					return;
+				}
+				int ideal = mezclar(claves[j]) & mascara;
+				if (((j - ideal) & mascara) >= ((j - k) & mascara)) {
+					claves[k] = claves[j];
+					valores[k] = valores[j];
+					valores[j] = -1;
+					k = j;
+				}
+			}
+		}
+
+		private int lugar(long clave) {
+			int mascara = claves.length - 1;
+			int k = mezclar(clave) & mascara;
+			while (valores[k] != -1 && claves[k] != clave) {
+				k = (k + 1) & mascara;
+			}
+			return k;
+		}
+
+		private void agrandar() {
+			long[] clavesAnteriores = claves;
+			int[] valoresAnteriores = valores;
+			claves = new long[clavesAnteriores.length * 2];
+			valores = new int[claves.length];
+			Arrays.fill(valores, -1);
+			for (int i = 0; i < clavesAnteriores.length; i++) {
+				if (valoresAnteriores[i] != -1) {
+					int k = lugar(clavesAnteriores[i]);
+					claves[k] = clavesAnteriores[i];
+					valores[k] = valoresAnteriores[i];
+				}
+			}
+		}
+
+		private static int mezclar(long clave) {
+			long h = clave * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ (h >>> 32));
+		}
+	}
+}
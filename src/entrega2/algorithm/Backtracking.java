@@ -1,11 +1,15 @@
 package entrega2.algorithm;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import entrega2.algorithm.Instrumentacion.Contadores;
+import entrega2.algorithm.Instrumentacion.Poda;
+import entrega2.model.ArcosPrimitivos;
 import entrega2.model.Estado;
 import entrega2.model.grafo.Arco;
-import entrega2.util.UnionFind;
+import entrega2.util.UnionFindReversible;
 
 /**
  * Clase que implementa el algoritmo Backtracking para resolver el problema.
@@ -13,16 +17,148 @@ import entrega2.util.UnionFind;
 public class Backtracking extends Resolutor {
 
 	private List<Arco<Integer>> mejorSolucion;
+	private boolean ramificacionYPoda;
+	private boolean iterativo;
+
+	// Configuracion del modo anytime
+	private boolean arranqueGreedy;
+	private long limiteTiempo;
+	private long limiteNodos;
+	private ObservadorSolucion observador;
+
+	// Configuracion del modo con memoizacion (0 = deshabilitado)
+	private int capacidadMemoria;
+	private CacheParticiones memoria;
+
+	// Estado de la ultima busqueda
+	private long fechaLimite;
+	private long nodosExplorados;
+	private boolean detenido;
+	private boolean optima;
+	private Contadores contadores;
+
+	// Datos precalculados de los candidatos, para no repetirlos en cada nodo
+	private Integer[] ordenPorKm;
+	private int[] origenes;
+	private int[] destinos;
+	private int[] etiquetas;
 
 	/**
 	 * Constructor de la clase Backtracking.
 	 */
 	public Backtracking() {
+		this(false);
+	}
+
+	/**
+	 * Constructor de la clase Backtracking.
+	 *
+	 * @param ramificacionYPoda true para podar cada nodo con una cota inferior
+	 *                          (kms actuales mas el bosque de expansion minimo que
+	 *                          une las componentes con los candidatos restantes).
+	 */
+	public Backtracking(boolean ramificacionYPoda) {
+		this(ramificacionYPoda, false);
+	}
+
+	/**
+	 * Constructor de la clase Backtracking que permite elegir el motor de busqueda.
+	 *
+	 * @param ramificacionYPoda true para podar cada nodo con una cota inferior.
+	 * @param iterativo         true para recorrer el arbol con una pila explicita en
+	 *                          lugar de recursion.
+	 */
+	protected Backtracking(boolean ramificacionYPoda, boolean iterativo) {
 		this.estaciones = new ArrayList<>();
 		this.setKms(Integer.MAX_VALUE);
 		this.metrica = 0;
-		this.nombre = "Backtracking";
+		this.nombre = ramificacionYPoda ? "Backtracking (Ramificacion y Poda)" : "Backtracking";
 		this.mejorSolucion = new ArrayList<>();
+		this.ramificacionYPoda = ramificacionYPoda;
+		this.iterativo = iterativo;
+		this.arranqueGreedy = false;
+		this.limiteTiempo = 0;
+		this.limiteNodos = 0;
+		this.capacidadMemoria = 0;
+		this.optima = false;
+	}
+
+	/**
+	 * Indica si la busqueda debe partir de la solucion de {@link Greedy} como mejor
+	 * solucion inicial, en lugar de una solucion vacia.
+	 *
+	 * @param arranqueGreedy true para usar la solucion Greedy como punto de partida.
+	 */
+	public void setArranqueGreedy(boolean arranqueGreedy) {
+		this.arranqueGreedy = arranqueGreedy;
+	}
+
+	/**
+	 * Establece un tiempo maximo de busqueda. Al vencer, se devuelve la mejor
+	 * solucion encontrada hasta el momento.
+	 *
+	 * @param milisegundos Tiempo maximo en milisegundos, o 0 para no limitar.
+	 */
+	public void setLimiteTiempo(long milisegundos) {
+		if (milisegundos < 0)
+			throw new IllegalArgumentException("Expected milisegundos >= 0");
+		this.limiteTiempo = milisegundos;
+	}
+
+	/**
+	 * Establece una cantidad maxima de nodos a explorar. Al alcanzarla, se devuelve
+	 * la mejor solucion encontrada hasta el momento.
+	 *
+	 * @param nodos Cantidad maxima de nodos, o 0 para no limitar.
+	 */
+	public void setLimiteNodos(long nodos) {
+		if (nodos < 0)
+			throw new IllegalArgumentException("Expected nodos >= 0");
+		this.limiteNodos = nodos;
+	}
+
+	/**
+	 * Habilita la memoizacion de estados: se recuerdan los mejores kilometros con
+	 * los que se alcanzo cada par (posicion, particion de estaciones) y se podan
+	 * las visitas posteriores con igual o mas kilometros.
+	 *
+	 * @param capacidad Cantidad maxima de estados a recordar, o 0 para deshabilitar.
+	 */
+	public void setMemoizacion(int capacidad) {
+		if (capacidad < 0)
+			throw new IllegalArgumentException("Expected capacidad >= 0");
+		this.capacidadMemoria = capacidad;
+	}
+
+	/**
+	 * Establece el observador que se notifica cada vez que mejora la solucion.
+	 *
+	 * @param observador Observador a notificar, o null para ninguno.
+	 */
+	public void setObservador(ObservadorSolucion observador) {
+		this.observador = observador;
+	}
+
+	/**
+	 * Indica si la ultima solucion encontrada es optima, es decir, si la busqueda
+	 * recorrio todo el arbol sin ser interrumpida por el limite de tiempo o de
+	 * nodos.
+	 *
+	 * @return true si la solucion esta probada como optima.
+	 */
+	@Override
+	public boolean esOptima() {
+		return optima;
+	}
+
+	/**
+	 * Agrega al nombre el arranque con Greedy, los limites y la memoizacion, que
+	 * cambian la solucion o la metrica.
+	 */
+	@Override
+	public String getConfiguracion() {
+		return getNombreResolutor() + " [arranqueGreedy=" + arranqueGreedy + ", limiteTiempo=" + limiteTiempo
+				+ ", limiteNodos=" + limiteNodos + ", memoizacion=" + capacidadMemoria + "]";
 	}
 
 	/**
@@ -33,14 +169,37 @@ public class Backtracking extends Resolutor {
 	 */
 	@Override
 	public List<Arco<Integer>> buscarSolucion(List<Arco<Integer>> candidatos) {
-		// Obtener la lista de estaciones a partir de los arcos candidatos
-		this.popularEstaciones(candidatos, estaciones);
+		reiniciar();
+
+		// Obtener la lista de estaciones y los candidatos con indices densos
+		ArcosPrimitivos arcos = this.traducirCandidatos(candidatos);
 
 		// Crear un estado inicial con la cantidad de estaciones
 		Estado estado = new Estado(estaciones.size());
 
-		// Iniciar el proceso de backtracking
-		backtracking(candidatos, estado);
+		prepararCandidatos(arcos);
+
+		// Partir de la solucion Greedy, si se pidio, para podar desde el primer nodo
+		if (this.arranqueGreedy) {
+			arrancarConGreedy(candidatos);
+		}
+
+		this.memoria = this.capacidadMemoria > 0 ? new CacheParticiones(this.capacidadMemoria, estaciones.size()) : null;
+		this.fechaLimite = this.limiteTiempo > 0 ? System.nanoTime() + this.limiteTiempo * 1000000 : 0;
+		this.nodosExplorados = 0;
+		this.detenido = false;
+		this.contadores = this.instrumentacion != null ? this.instrumentacion.contadores() : null;
+
+		// Iniciar el proceso de backtracking, solo si los candidatos pueden conectar todas las estaciones
+		if (esFactible(estado)) {
+			if (this.iterativo) {
+				backtrackingIterativo(candidatos, estado);
+			} else {
+				backtracking(candidatos, estado);
+			}
+		}
+
+		this.optima = !this.detenido;
 
 		// Devolver la mejor solución encontrada
 		return this.mejorSolucion;
@@ -54,72 +213,415 @@ public class Backtracking extends Resolutor {
 	 * @param e          Estado actual.
 	 */
 	private void backtracking(List<Arco<Integer>> candidatos, Estado e) {
+		// Cortar la busqueda si se agoto el tiempo o la cantidad de nodos. La poda
+		// por limite se registra una sola vez, en el nodo donde se detuvo.
+		if (this.detenido) {
+			return;
+		}
+		if (this.alcanzoLimite()) {
+			this.detenido = true;
+			registrarPoda(Poda.LIMITE);
+			return;
+		}
+
 		sumarMetrica();
+		this.nodosExplorados++;
+		if (this.contadores != null) {
+			this.contadores.nodo(e.getPosicion());
+		}
 
-		// Verificar si se ha explorado todos los arcos candidatos
-		if (e.getPosicion() == candidatos.size()) {
-			// Verificar si el estado actual tiene una unica componente conexa
-			if (e.getUnion().numberOfSets() == 1) {
-				// Verificar si es la primera solucion encontrada o si es mejor que la anterior
-				if (this.mejorSolucion.isEmpty()) {
-					this.setKms(e.getKms());
-					this.mejorSolucion.addAll(e.getSolucionParcial());
-				} else {
-					if (e.getKms() <= this.getKms()) {
-						this.setKms(e.getKms());
-						this.mejorSolucion.clear();
-						this.mejorSolucion.addAll(e.getSolucionParcial());
-					}
+		// Verificar si el estado actual tiene una unica componente conexa. Con N-1 tuneles
+		// elegidos ningun candidato restante puede agregarse, asi que no hace falta seguir.
+		if (e.getUnion().numberOfSets() == 1) {
+			if (this.contadores != null) {
+				this.contadores.hoja();
+			}
+			// Verificar si es la primera solucion encontrada o si es mejor que la anterior
+			if (this.mejorSolucion.isEmpty()) {
+				this.registrarSolucion(e.getSolucionParcial(candidatos), e.getKms());
+			} else {
+				if (e.getKms() <= this.getKms()) {
+					this.registrarSolucion(e.getSolucionParcial(candidatos), e.getKms());
 				}
 			}
-		} else {
+		} else if (e.getPosicion() < candidatos.size()) {
+			// Podar si el estado ya se alcanzo con menos kilometros
+			if (this.memoria != null && this.memoria.esDominado(e.getPosicion(), e.getUnion(), e.getKms())) {
+				registrarPoda(Poda.MEMORIA);
+				return;
+			}
+
+			// Podar si ni siquiera la cota inferior puede mejorar la mejor solucion
+			if (this.ramificacionYPoda && !this.mejorSolucion.isEmpty() && cotaInferior(e) >= this.getKms()) {
+				registrarPoda(Poda.COTA_INFERIOR);
+				return;
+			}
+
 			int posicionActual = e.getPosicion();
 			int kmActual = e.getKms();
-			Arco<Integer> arco = candidatos.get(posicionActual);
-
-			int origenEstacion = this.estaciones.indexOf(arco.getVerticeOrigen());
-			int destinoEstacion = this.estaciones.indexOf(arco.getVerticeDestino());
+			int etiqueta = this.etiquetas[posicionActual];
 
 			// Verificar si el arco es factible y si mejora la mejor solucion encontrada hasta ahora
-			if (this.esArcoValido(arco, e) && kmActual + arco.getEtiqueta() < this.getKms()) {
-				// Hacer una copia de la estructura UnionFind para poder deshacer cambios
-				UnionFind unionAux = e.getUnion().clone();
+			boolean valido = this.esArcoValido(posicionActual, e);
+			if (valido && kmActual + etiqueta < this.getKms()) {
+				// Marcar el estado de la estructura UnionFind para poder deshacer cambios
+				int checkpoint = e.getUnion().checkpoint();
 
 				// Realizar la union de las estaciones y actualizar el estado
-				e.getUnion().union(origenEstacion, destinoEstacion);
-				e.addArco(arco);
-				e.setKms(kmActual + arco.getEtiqueta());
+				e.getUnion().union(this.origenes[posicionActual], this.destinos[posicionActual]);
+				if (this.contadores != null) {
+					this.contadores.uniones(1);
+				}
+				e.addArco(posicionActual);
+				e.setKms(kmActual + etiqueta);
 				e.setPosicion(posicionActual + 1);
 
 				// Llamar recursivamente al backtracking con el nuevo estado
 				this.backtracking(candidatos, e);
 
 				// Deshacer los cambios realizados para explorar otras opciones
-				e.setUnion(unionAux);
-				e.removeArco(arco);
+				e.getUnion().rollback(checkpoint);
+				e.removeArco();
 				e.setPosicion(posicionActual);
 				e.setKms(kmActual);
+
+				// Si la busqueda se detuvo no se explora la rama sin el arco
+				if (this.detenido) {
+					return;
+				}
+			} else {
+				registrarPoda(valido ? Poda.KILOMETROS : Poda.CICLO);
 			}
 
-			// Continuar explorando sin usar el arco actual
+			// Continuar explorando sin usar el arco actual, solo si sin el todavia se
+			// pueden conectar todas las estaciones. Incluir un arco nunca rompe la
+			// factibilidad, por eso solo se verifica en esta rama.
 			e.setPosicion(posicionActual + 1);
-			this.backtracking(candidatos, e);
+			if (this.esFactible(e)) {
+				this.backtracking(candidatos, e);
+			} else {
+				registrarPoda(Poda.INFACTIBLE);
+			}
 			e.setPosicion(posicionActual);
+		} else {
+			registrarPoda(Poda.SIN_CANDIDATOS);
+		}
+	}
+
+	/**
+	 * Version iterativa del metodo de Backtracking. Recorre el mismo arbol, en el
+	 * mismo orden y con las mismas podas que {@link #backtracking(List, Estado)},
+	 * pero usa una pila explicita de marcos en lugar de la pila de llamadas, de modo
+	 * que la profundidad no depende del tamanio de la pila del hilo.
+	 *
+	 * Como cada nivel avanza una posicion en la lista de candidatos, el marco del
+	 * nivel i corresponde a la posicion i. Cada marco guarda en arreglos primitivos
+	 * la fase en la que se encuentra, el checkpoint del UnionFind y los kilometros
+	 * previos a incluir el arco.
+	 *
+	 * Complejidad: O((2 ^ N) * N), donde N es la cantidad de tuneles.
+	 *
+	 * @param candidatos Lista de arcos candidatos.
+	 * @param e          Estado inicial.
+	 */
+	private void backtrackingIterativo(List<Arco<Integer>> candidatos, Estado e) {
+		final int ENTRAR = 0, DESPUES_DE_INCLUIR = 1, SALIR = 2;
+
+		int[] fases = new int[candidatos.size() + 1];
+		int[] checkpoints = new int[candidatos.size() + 1];
+		int[] kmsPrevios = new int[candidatos.size() + 1];
+
+		int tope = e.getPosicion();
+		int base = tope;
+		fases[tope] = ENTRAR;
+
+		while (tope >= base) {
+			int posicionActual = tope;
+			e.setPosicion(posicionActual);
+
+			if (fases[tope] == ENTRAR) {
+				// Cortar la busqueda si se agoto el tiempo o la cantidad de nodos
+				if (this.detenido) {
+					tope--;
+					continue;
+				}
+				if (this.alcanzoLimite()) {
+					this.detenido = true;
+					registrarPoda(Poda.LIMITE);
+					tope--;
+					continue;
+				}
+
+				sumarMetrica();
+				this.nodosExplorados++;
+				if (this.contadores != null) {
+					this.contadores.nodo(posicionActual);
+				}
+
+				// Verificar si el estado actual tiene una unica componente conexa
+				if (e.getUnion().numberOfSets() == 1) {
+					if (this.contadores != null) {
+						this.contadores.hoja();
+					}
+					if (this.mejorSolucion.isEmpty() || e.getKms() <= this.getKms()) {
+						this.registrarSolucion(e.getSolucionParcial(candidatos), e.getKms());
+					}
+					tope--;
+					continue;
+				}
+
+				// Podar si no quedan candidatos, si el estado ya se alcanzo con menos kilometros
+				// o si la cota inferior no puede mejorar la solucion
+				Poda poda = null;
+				if (posicionActual == candidatos.size()) {
+					poda = Poda.SIN_CANDIDATOS;
+				} else if (this.memoria != null && this.memoria.esDominado(posicionActual, e.getUnion(), e.getKms())) {
+					poda = Poda.MEMORIA;
+				} else if (this.ramificacionYPoda && !this.mejorSolucion.isEmpty() && cotaInferior(e) >= this.getKms()) {
+					poda = Poda.COTA_INFERIOR;
+				}
+				if (poda != null) {
+					registrarPoda(poda);
+					tope--;
+					continue;
+				}
+
+				int kmActual = e.getKms();
+				int etiqueta = this.etiquetas[posicionActual];
+				UnionFindReversible union = e.getUnion();
+
+				// Verificar si el arco es factible y si mejora la mejor solucion encontrada hasta ahora
+				boolean valido = this.esArcoValido(posicionActual, e);
+				if (valido && kmActual + etiqueta < this.getKms()) {
+					checkpoints[tope] = union.checkpoint();
+					kmsPrevios[tope] = kmActual;
+
+					union.union(this.origenes[posicionActual], this.destinos[posicionActual]);
+					if (this.contadores != null) {
+						this.contadores.uniones(1);
+					}
+					e.addArco(posicionActual);
+					e.setKms(kmActual + etiqueta);
+
+					// Descender incluyendo el arco
+					fases[tope] = DESPUES_DE_INCLUIR;
+					tope++;
+					fases[tope] = ENTRAR;
+					continue;
+				}
+				registrarPoda(valido ? Poda.KILOMETROS : Poda.CICLO);
+			} else if (fases[tope] == DESPUES_DE_INCLUIR) {
+				// Deshacer los cambios realizados para explorar otras opciones
+				e.getUnion().rollback(checkpoints[tope]);
+				e.removeArco();
+				e.setKms(kmsPrevios[tope]);
+
+				// Si la busqueda se detuvo no se explora la rama sin el arco
+				if (this.detenido) {
+					tope--;
+					continue;
+				}
+			} else {
+				tope--;
+				continue;
+			}
+
+			// Continuar explorando sin usar el arco actual, si todavia es factible
+			e.setPosicion(posicionActual + 1);
+			if (this.esFactible(e)) {
+				fases[tope] = SALIR;
+				tope++;
+				fases[tope] = ENTRAR;
+			} else {
+				registrarPoda(Poda.INFACTIBLE);
+				tope--;
+			}
+		}
+
+		e.setPosicion(base);
+	}
+
+	/**
+	 * Reemplaza la mejor solucion y notifica al observador si los kilometros
+	 * mejoraron.
+	 *
+	 * @param solucion Nueva mejor solucion.
+	 * @param kms      Kilometros totales de la solucion.
+	 */
+	private void registrarSolucion(List<Arco<Integer>> solucion, int kms) {
+		boolean mejora = this.mejorSolucion.isEmpty() || kms < this.getKms();
+
+		this.setKms(kms);
+		this.mejorSolucion.clear();
+		this.mejorSolucion.addAll(solucion);
+
+		if (mejora && this.observador != null) {
+			this.observador.mejoraSolucion(new ArrayList<>(solucion), kms);
+		}
+		if (mejora && this.instrumentacion != null) {
+			this.instrumentacion.mejora(kms);
+		}
+	}
+
+	/**
+	 * Registra una poda en la instrumentacion, si la hay.
+	 *
+	 * @param motivo Motivo de la poda.
+	 */
+	private void registrarPoda(Poda motivo) {
+		if (this.contadores != null) {
+			this.contadores.poda(motivo);
+		}
+	}
+
+	/**
+	 * Toma como mejor solucion inicial la obtenida por {@link Greedy}, siempre que
+	 * conecte todas las estaciones. Greedy no modifica la lista de candidatos:
+	 * ordena su propia copia y la recorre con un cursor.
+	 *
+	 * @param candidatos Lista de arcos candidatos.
+	 */
+	private void arrancarConGreedy(List<Arco<Integer>> candidatos) {
+		Greedy greedy = new Greedy();
+		List<Arco<Integer>> solucion = greedy.buscarSolucion(candidatos);
+
+		if (solucion.size() == this.estaciones.size() - 1) {
+			this.registrarSolucion(solucion, greedy.getKms());
+		}
+	}
+
+	@Override
+	protected void reiniciar() {
+		super.reiniciar();
+		this.setKms(Integer.MAX_VALUE);
+		this.mejorSolucion = new ArrayList<>();
+		this.memoria = null;
+		this.optima = false;
+	}
+
+	/**
+	 * Verifica si la busqueda alcanzo el limite de tiempo o de nodos.
+	 *
+	 * @return true si la busqueda debe detenerse.
+	 */
+	private boolean alcanzoLimite() {
+		if (this.limiteNodos > 0 && this.nodosExplorados >= this.limiteNodos) {
+			return true;
+		}
+		return this.fechaLimite != 0 && System.nanoTime() - this.fechaLimite >= 0;
+	}
+
+	/**
+	 * Toma los indices de las estaciones de cada arco y precalcula el orden de los
+	 * candidatos por menor kilometro, para no repetirlos en cada nodo.
+	 *
+	 * Complejidad: O(N log N), donde N es la cantidad de tuneles.
+	 *
+	 * @param arcos Candidatos traducidos a indices densos.
+	 */
+	private void prepararCandidatos(ArcosPrimitivos arcos) {
+		this.ordenPorKm = new Integer[arcos.getCantidad()];
+		this.origenes = arcos.getOrigenes();
+		this.destinos = arcos.getDestinos();
+		this.etiquetas = arcos.getEtiquetas();
+
+		for (int i = 0; i < arcos.getCantidad(); i++) {
+			this.ordenPorKm[i] = i;
 		}
+
+		Arrays.sort(this.ordenPorKm, (a, b) -> Integer.compare(this.etiquetas[a], this.etiquetas[b]));
+	}
+
+	/**
+	 * Calcula una cota inferior admisible para el estado: los kilometros actuales
+	 * mas el costo del bosque de expansion minimo (Kruskal) que une las componentes
+	 * actuales utilizando solo los candidatos desde la posicion actual en adelante.
+	 * Si los candidatos restantes no alcanzan para conectar todas las estaciones,
+	 * devuelve Integer.MAX_VALUE.
+	 *
+	 * Complejidad: O(N * log E), donde N es la cantidad de tuneles y E la cantidad
+	 * de estaciones.
+	 *
+	 * @param e Estado actual.
+	 * @return Cota inferior de los kilometros de cualquier solucion del subarbol.
+	 */
+	private int cotaInferior(Estado e) {
+		// Las uniones se deshacen al final para no modificar el estado
+		UnionFindReversible union = e.getUnion();
+		int checkpoint = union.checkpoint();
+		int cota = e.getKms();
+
+		int busquedas = 0, uniones = 0;
+
+		for (int i = 0; i < this.ordenPorKm.length && union.numberOfSets() > 1; i++) {
+			int indice = this.ordenPorKm[i];
+			if (indice < e.getPosicion()) {
+				continue;
+			}
+			busquedas += 2;
+			if (union.find(this.origenes[indice]) != union.find(this.destinos[indice])) {
+				union.union(this.origenes[indice], this.destinos[indice]);
+				uniones++;
+				cota += this.etiquetas[indice];
+			}
+		}
+
+		boolean conexo = union.numberOfSets() == 1;
+		union.rollback(checkpoint);
+
+		if (this.contadores != null) {
+			this.contadores.busquedas(busquedas);
+			this.contadores.uniones(uniones);
+		}
+
+		return conexo ? cota : Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Verifica si las componentes actuales, junto con los candidatos desde la
+	 * posicion actual en adelante, todavia pueden conectar todas las estaciones.
+	 *
+	 * Complejidad: O(N * log E), donde N es la cantidad de tuneles y E la cantidad
+	 * de estaciones.
+	 *
+	 * @param e Estado actual.
+	 * @return true si el subarbol todavia puede contener una solucion.
+	 */
+	private boolean esFactible(Estado e) {
+		// Las uniones se deshacen al final para no modificar el estado
+		UnionFindReversible union = e.getUnion();
+		int checkpoint = union.checkpoint();
+
+		int i = e.getPosicion();
+		for (; i < this.origenes.length && union.numberOfSets() > 1; i++) {
+			union.union(this.origenes[i], this.destinos[i]);
+		}
+
+		boolean conexo = union.numberOfSets() == 1;
+		union.rollback(checkpoint);
+
+		if (this.contadores != null) {
+			this.contadores.uniones(i - e.getPosicion());
+		}
+
+		return conexo;
 	}
 
 	/**
 	 * Verifica si un arco es factible en base al estado actual.
 	 *
-	 * @param arco   Arco a verificar.
-	 * @param estado Estado actual.
+	 * @param posicion Posicion del arco en la lista de candidatos.
+	 * @param estado   Estado actual.
 	 * @return true si el arco es factible, false en caso contrario.
 	 * 
-	 *         Complejidad: Complejidad: O(N) donde N es la cantidad de estaciones.
+	 *         Complejidad: O(log E) donde E es la cantidad de estaciones.
 	 */
-	private boolean esArcoValido(Arco<Integer> arco, Estado estado) {
-		int destino = estado.getUnion().find(estaciones.indexOf(arco.getVerticeDestino()));
-		int origen = estado.getUnion().find(estaciones.indexOf(arco.getVerticeOrigen()));
+	private boolean esArcoValido(int posicion, Estado estado) {
+		int destino = estado.getUnion().find(this.destinos[posicion]);
+		int origen = estado.getUnion().find(this.origenes[posicion]);
+		if (this.contadores != null) {
+			this.contadores.busquedas(2);
+		}
 
 		// Verificar si el arco conecta dos componentes distintas
 		return destino != origen;
@@ -0,0 +1,27 @@
+package entrega2.algorithm;
+
+/**
+ * Clase que implementa el algoritmo Backtracking con una pila explicita en lugar
+ * de recursion. Explora el mismo arbol y con las mismas podas que
+ * {@link Backtracking}, pero su profundidad no esta limitada por la pila del
+ * hilo, por lo que admite listas de candidatos muy largas.
+ */
+public class BacktrackingIterativo extends Backtracking {
+
+	/**
+	 * Constructor de la clase BacktrackingIterativo.
+	 */
+	public BacktrackingIterativo() {
+		this(false);
+	}
+
+	/**
+	 * Constructor de la clase BacktrackingIterativo.
+	 *
+	 * @param ramificacionYPoda true para podar cada nodo con una cota inferior.
+	 */
+	public BacktrackingIterativo(boolean ramificacionYPoda) {
+		super(ramificacionYPoda, true);
+		this.nombre = ramificacionYPoda ? "Backtracking Iterativo (Ramificacion y Poda)" : "Backtracking Iterativo";
+	}
+}
@@ -0,0 +1,301 @@
+package entrega2.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import entrega2.algorithm.Instrumentacion.Contadores;
+import entrega2.algorithm.Instrumentacion.Poda;
+import entrega2.model.ArcosPrimitivos;
+import entrega2.model.Estado;
+import entrega2.model.grafo.Arco;
+
+/**
+ * Clase que implementa el algoritmo Backtracking en paralelo. El arbol de
+ * decisiones (incluir / no incluir cada tunel) se divide en tareas de un
+ * ForkJoinPool sobre las primeras decisiones, y cada tarea explora su subarbol
+ * en forma secuencial con su propio Estado.
+ *
+ * Todas las tareas comparten la mejor cantidad de kilometros encontrada, de
+ * modo que una mejora en cualquier tarea poda los subarboles de las demas.
+ */
+public class BacktrackingParalelo extends Resolutor {
+
+	private static final int PROFUNDIDAD_CORTE_DEFAULT = 8;
+
+	private List<Arco<Integer>> mejorSolucion;
+	private AtomicInteger mejorKms;
+	private LongAdder metricaTotal;
+	private int profundidadCorte;
+	private ForkJoinPool pool;
+
+	// Indices de las estaciones de cada arco candidato
+	private int[] origenes;
+	private int[] destinos;
+
+	/**
+	 * Constructor de la clase BacktrackingParalelo. Divide el arbol sobre las
+	 * primeras decisiones y utiliza el pool comun.
+	 */
+	public BacktrackingParalelo() {
+		this(PROFUNDIDAD_CORTE_DEFAULT, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructor de la clase BacktrackingParalelo.
+	 *
+	 * @param profundidadCorte Cantidad de decisiones (k) sobre las que se divide
+	 *                         el arbol en tareas. Genera hasta 2^k tareas.
+	 * @param pool             Pool en el que se ejecutan las tareas.
+	 */
+	public BacktrackingParalelo(int profundidadCorte, ForkJoinPool pool) {
+		if (profundidadCorte < 0)
+			throw new IllegalArgumentException("Expected profundidadCorte >= 0");
+
+		this.estaciones = new ArrayList<>();
+		this.setKms(Integer.MAX_VALUE);
+		this.metrica = 0;
+		this.nombre = "Backtracking Paralelo";
+		this.mejorSolucion = new ArrayList<>();
+		this.mejorKms = new AtomicInteger(Integer.MAX_VALUE);
+		this.metricaTotal = new LongAdder();
+		this.profundidadCorte = profundidadCorte;
+		this.pool = pool;
+	}
+
+	/**
+	 * Implementacion del algoritmo Backtracking paralelo para buscar la solucion.
+	 *
+	 * @param candidatos Lista de arcos candidatos.
+	 * @return Lista de arcos que representan la solucion.
+	 */
+	@Override
+	public List<Arco<Integer>> buscarSolucion(List<Arco<Integer>> candidatos) {
+		reiniciar();
+
+		// Obtener la lista de estaciones y traducir una sola vez las estaciones de
+		// cada arco a sus indices
+		ArcosPrimitivos arcos = this.traducirCandidatos(candidatos);
+		this.origenes = arcos.getOrigenes();
+		this.destinos = arcos.getDestinos();
+
+		// Crear un estado inicial con la cantidad de estaciones
+		Estado estado = new Estado(estaciones.size());
+
+		// Explorar el arbol en el pool y esperar a que terminen todas las tareas
+		pool.invoke(new TareaBacktracking(candidatos, estado));
+
+		// Consolidar la metrica de todos los workers
+		this.metrica = (int) metricaTotal.sum();
+		this.setKms(mejorKms.get());
+
+		// Devolver la mejor solucion encontrada
+		return this.mejorSolucion;
+	}
+
+	/**
+	 * Agrega al nombre la profundidad de corte, que cambia la metrica.
+	 */
+	@Override
+	public String getConfiguracion() {
+		return getNombreResolutor() + " [profundidadCorte=" + profundidadCorte + "]";
+	}
+
+	@Override
+	protected void reiniciar() {
+		super.reiniciar();
+		this.setKms(Integer.MAX_VALUE);
+		this.mejorSolucion = new ArrayList<>();
+		this.mejorKms = new AtomicInteger(Integer.MAX_VALUE);
+		this.metricaTotal = new LongAdder();
+	}
+
+	/**
+	 * Registra una solucion si es mejor o igual que la mejor encontrada hasta el
+	 * momento. Se sincroniza para que la lista y los kilometros se actualicen
+	 * juntos.
+	 *
+	 * @param candidatos Lista de arcos candidatos.
+	 * @param e          Estado que contiene una solucion completa.
+	 */
+	private synchronized void registrarSolucion(List<Arco<Integer>> candidatos, Estado e) {
+		if (this.mejorSolucion.isEmpty() || e.getKms() <= mejorKms.get()) {
+			if (this.instrumentacion != null && (this.mejorSolucion.isEmpty() || e.getKms() < mejorKms.get())) {
+				this.instrumentacion.mejora(e.getKms());
+			}
+			mejorKms.set(e.getKms());
+			this.mejorSolucion.clear();
+			this.mejorSolucion.addAll(e.getSolucionParcial(candidatos));
+		}
+	}
+
+	/**
+	 * Verifica si un arco es factible en base al estado actual.
+	 *
+	 * @param posicion Posicion del arco a verificar en la lista de candidatos.
+	 * @param estado   Estado actual.
+	 * @return true si el arco es factible, false en caso contrario.
+	 *
+	 *         Complejidad: O(log N) donde N es la cantidad de estaciones.
+	 */
+	private boolean esArcoValido(int posicion, Estado estado) {
+		int destino = estado.getUnion().find(destinos[posicion]);
+		int origen = estado.getUnion().find(origenes[posicion]);
+
+		// Verificar si el arco conecta dos componentes distintas
+		return destino != origen;
+	}
+
+	/**
+	 * Tarea que explora el subarbol que cuelga de un estado. Mientras la posicion
+	 * sea menor a la profundidad de corte se divide en dos subtareas (incluir y no
+	 * incluir el arco actual), cada una con su propia copia del estado. A partir
+	 * de ahi explora en forma secuencial.
+	 */
+	private class TareaBacktracking extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private List<Arco<Integer>> candidatos;
+		private Estado estado;
+		private int nodos;
+		private Contadores contadores;
+
+		TareaBacktracking(List<Arco<Integer>> candidatos, Estado estado) {
+			this.candidatos = candidatos;
+			this.estado = estado;
+			this.nodos = 0;
+		}
+
+		@Override
+		protected void compute() {
+			this.contadores = instrumentacion != null ? instrumentacion.contadores() : null;
+			if (estado.getPosicion() < profundidadCorte && estado.getPosicion() < candidatos.size()) {
+				dividir();
+			} else {
+				backtracking(estado);
+			}
+			metricaTotal.add(nodos);
+		}
+
+		/**
+		 * Divide el nodo actual en una subtarea que incluye el arco y otra que no.
+		 */
+		private void dividir() {
+			nodos++;
+			if (contadores != null) {
+				contadores.nodo(estado.getPosicion());
+			}
+
+			int posicionActual = estado.getPosicion();
+			int kmActual = estado.getKms();
+			Arco<Integer> arco = candidatos.get(posicionActual);
+
+			// Subtarea que no incluye el arco actual
+			Estado sinArco = new Estado(estado);
+			sinArco.setPosicion(posicionActual + 1);
+			TareaBacktracking excluir = new TareaBacktracking(candidatos, sinArco);
+
+			boolean valido = esArcoValido(posicionActual, estado);
+			contarBusquedas();
+			if (valido && kmActual + arco.getEtiqueta() < mejorKms.get()) {
+				// Subtarea que incluye el arco actual, sobre su propia copia del estado
+				Estado conArco = new Estado(estado);
+				conArco.getUnion().union(origenes[posicionActual], destinos[posicionActual]);
+				contarUnion();
+				conArco.addArco(posicionActual);
+				conArco.setKms(kmActual + arco.getEtiqueta());
+				conArco.setPosicion(posicionActual + 1);
+
+				invokeAll(new TareaBacktracking(candidatos, conArco), excluir);
+			} else {
+				registrarPoda(valido ? Poda.KILOMETROS : Poda.CICLO);
+				excluir.compute();
+			}
+		}
+
+		/**
+		 * Metodo recursivo de Backtracking que explora en forma secuencial el
+		 * subarbol de la tarea. Es equivalente a {@link Backtracking}, pero poda con
+		 * la mejor cantidad de kilometros compartida entre todas las tareas.
+		 *
+		 * Complejidad: O((2 ^ N) * N), donde N es la cantidad de tuneles.
+		 *
+		 * @param e Estado actual.
+		 */
+		private void backtracking(Estado e) {
+			nodos++;
+			if (contadores != null) {
+				contadores.nodo(e.getPosicion());
+			}
+
+			// Verificar si se ha explorado todos los arcos candidatos
+			if (e.getPosicion() == candidatos.size()) {
+				// Verificar si el estado actual tiene una unica componente conexa
+				if (e.getUnion().numberOfSets() == 1) {
+					if (contadores != null) {
+						contadores.hoja();
+					}
+					registrarSolucion(candidatos, e);
+				} else {
+					registrarPoda(Poda.SIN_CANDIDATOS);
+				}
+			} else {
+				int posicionActual = e.getPosicion();
+				int kmActual = e.getKms();
+				Arco<Integer> arco = candidatos.get(posicionActual);
+
+				// La mejor cantidad de kilometros puede haber sido mejorada por otra tarea
+				boolean valido = esArcoValido(posicionActual, e);
+				contarBusquedas();
+				if (valido && kmActual + arco.getEtiqueta() < mejorKms.get()) {
+					// Marcar el estado de la estructura UnionFind para poder deshacer cambios
+					int checkpoint = e.getUnion().checkpoint();
+
+					// Realizar la union de las estaciones y actualizar el estado
+					e.getUnion().union(origenes[posicionActual], destinos[posicionActual]);
+					contarUnion();
+					e.addArco(posicionActual);
+					e.setKms(kmActual + arco.getEtiqueta());
+					e.setPosicion(posicionActual + 1);
+
+					this.backtracking(e);
+
+					// Deshacer los cambios realizados para explorar otras opciones
+					e.getUnion().rollback(checkpoint);
+					e.removeArco();
+					e.setPosicion(posicionActual);
+					e.setKms(kmActual);
+				} else {
+					registrarPoda(valido ? Poda.KILOMETROS : Poda.CICLO);
+				}
+
+				// Continuar explorando sin usar el arco actual
+				e.setPosicion(posicionActual + 1);
+				this.backtracking(e);
+				e.setPosicion(posicionActual);
+			}
+		}
+
+		private void registrarPoda(Poda motivo) {
+			if (contadores != null) {
+				contadores.poda(motivo);
+			}
+		}
+
+		private void contarBusquedas() {
+			if (contadores != null) {
+				contadores.busquedas(2);
+			}
+		}
+
+		private void contarUnion() {
+			if (contadores != null) {
+				contadores.uniones(1);
+			}
+		}
+	}
+}
@@ -0,0 +1,179 @@
+package entrega2.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+import entrega2.model.ArcosPrimitivos;
+import entrega2.model.grafo.Arco;
+import entrega2.util.UnionFindConcurrente;
+
+/**
+ * Clase que implementa el algoritmo de Boruvka en paralelo. En cada ronda se
+ * busca, en paralelo sobre todos los tuneles, el tunel mas corto que sale de
+ * cada componente, y luego se unen las componentes con esos tuneles. La cantidad
+ * de componentes al menos se reduce a la mitad en cada ronda, por lo que hay
+ * O(log V) rondas. Las dos etapas de cada ronda corren en paralelo, y las
+ * componentes se mantienen en un {@link UnionFindConcurrente} que todos los
+ * hilos comparten.
+ *
+ * Los empates de kilometros se desempatan por la posicion del tunel en la lista
+ * de candidatos, de modo que el orden entre tuneles es total y el resultado es
+ * siempre el mismo, sin importar el orden en que trabajen los hilos.
+ */
+public class Boruvka extends Resolutor {
+
+	private static final long SIN_ARCO = Long.MAX_VALUE;
+
+	private ForkJoinPool pool;
+
+	/**
+	 * Constructor de la clase Boruvka, que utiliza el pool comun.
+	 */
+	public Boruvka() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructor de la clase Boruvka.
+	 *
+	 * @param pool Pool en el que se ejecutan las etapas paralelas.
+	 */
+	public Boruvka(ForkJoinPool pool) {
+		this.estaciones = new ArrayList<>();
+		this.kms = 0;
+		this.metrica = 0;
+		this.nombre = "Boruvka";
+		this.pool = pool;
+	}
+
+	/**
+	 * Implementacion del algoritmo de Boruvka para buscar la solucion. La lista de
+	 * candidatos no se modifica.
+	 *
+	 * @param candidatos Lista de arcos candidatos.
+	 * @return Lista de arcos que representan la solucion.
+	 */
+	@Override
+	public List<Arco<Integer>> buscarSolucion(List<Arco<Integer>> candidatos) {
+		reiniciar();
+		ArcosPrimitivos arcos = traducirCandidatos(candidatos);
+
+		int[] elegidos = resolver(arcos);
+
+		List<Arco<Integer>> solucion = new ArrayList<>(elegidos.length);
+		for (int indice : elegidos) {
+			solucion.add(candidatos.get(indice));
+		}
+		return solucion;
+	}
+
+	/**
+	 * Aplica el algoritmo de Boruvka sobre los arcos primitivos. La metrica cuenta
+	 * las rondas realizadas.
+	 *
+	 * Complejidad: O((N + V) log V / P), donde N es la cantidad de tuneles, V la de
+	 * estaciones y P la cantidad de hilos.
+	 *
+	 * @param arcos Arcos en arreglos primitivos.
+	 * @return Indices de los tuneles elegidos.
+	 */
+	public int[] resolver(ArcosPrimitivos arcos) {
+		this.kms = 0;
+		this.metrica = 0;
+		int v = arcos.getCantidadEstaciones();
+		if (v == 0) {
+			return new int[0];
+		}
+
+		int[] origenes = arcos.getOrigenes();
+		int[] destinos = arcos.getDestinos();
+		int[] etiquetas = arcos.getEtiquetas();
+
+		UnionFindConcurrente unionFind = new UnionFindConcurrente(v);
+		int[] componente = new int[v];
+		AtomicLongArray masCorto = new AtomicLongArray(v);
+		int[] unido = new int[v];
+
+		int[] elegidos = new int[v - 1];
+		int cantidadElegidos = 0;
+		boolean huboUniones = true;
+
+		while (huboUniones && cantidadElegidos < v - 1) {
+			sumarMetrica();
+
+			// Etapa paralela: componente de cada estacion
+			ejecutar(() -> IntStream.range(0, v).parallel().forEach(i -> {
+				componente[i] = unionFind.find(i);
+				masCorto.set(i, SIN_ARCO);
+			}));
+
+			// Etapa paralela: tunel mas corto que sale de cada componente
+			ejecutar(() -> IntStream.range(0, arcos.getCantidad()).parallel().forEach(i -> {
+				int a = componente[origenes[i]];
+				int b = componente[destinos[i]];
+				if (a != b) {
+					long clave = ((long) etiquetas[i] << 32) | i;
+					minimo(masCorto, a, clave);
+					minimo(masCorto, b, clave);
+				}
+			}));
+
+			// Etapa paralela: unir cada componente con su tunel mas corto. Si las dos
+			// componentes de un tunel lo eligieron, lo une y lo registra siempre la de
+			// menor indice, asi cada tunel queda en la misma componente sin importar que
+			// hilo llegue primero. Los tuneles elegidos forman un bosque, asi que todas
+			// las uniones tienen exito y el resultado no depende de su orden.
+			ejecutar(() -> IntStream.range(0, v).parallel().forEach(c -> {
+				long clave = masCorto.get(c);
+				unido[c] = -1;
+				if (componente[c] == c && clave != SIN_ARCO) {
+					int indice = (int) clave;
+					int otra = componente[origenes[indice]] == c ? componente[destinos[indice]]
+							: componente[origenes[indice]];
+					if (otra < c && masCorto.get(otra) == clave) {
+						return;
+					}
+					if (unionFind.union(origenes[indice], destinos[indice])) {
+						unido[c] = indice;
+					}
+				}
+			}));
+
+			// Se recorren las componentes en orden para que la solucion sea siempre la misma
+			huboUniones = false;
+			for (int c = 0; c < v; c++) {
+				if (unido[c] >= 0) {
+					elegidos[cantidadElegidos++] = unido[c];
+					this.kms += etiquetas[unido[c]];
+					huboUniones = true;
+				}
+			}
+		}
+
+		return Arrays.copyOf(elegidos, cantidadElegidos);
+	}
+
+	/**
+	 * Guarda en la posicion indicada el minimo entre el valor actual y la clave,
+	 * con compare-and-set para que varios hilos puedan competir por la misma
+	 * componente.
+	 */
+	private static void minimo(AtomicLongArray valores, int posicion, long clave) {
+		long actual = valores.get(posicion);
+		while (clave < actual && !valores.compareAndSet(posicion, actual, clave)) {
+			actual = valores.get(posicion);
+		}
+	}
+
+	/**
+	 * Ejecuta una etapa paralela dentro del pool configurado y espera a que
+	 * termine.
+	 */
+	private void ejecutar(Runnable etapa) {
+		pool.submit(etapa).join();
+	}
+}
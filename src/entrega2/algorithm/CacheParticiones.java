@@ -0,0 +1,138 @@
+package entrega2.algorithm;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import entrega2.util.UnionFindReversible;
+
+/**
+ * Cache acotada que guarda, para cada par (posicion, particion de las
+ * estaciones), la menor cantidad de kilometros con la que el Backtracking llego
+ * a ese estado. Dos nodos con la misma posicion y la misma particion tienen
+ * exactamente el mismo subarbol, asi que si se vuelve a llegar con igual o mas
+ * kilometros el subarbol no puede mejorar la solucion y se poda.
+ *
+ * La particion se canoniza numerando las componentes en el orden en que aparece
+ * su primera estacion. Al superar la capacidad se descarta la entrada usada hace
+ * mas tiempo (LRU).
+ */
+public class CacheParticiones {
+
+	private LinkedHashMap<Clave, Integer> mejoresKms;
+	private int capacidad;
+
+	// Arreglos auxiliares reutilizados para canonizar sin crear objetos
+	private int[] etiquetaRaiz;
+	private Clave claveAuxiliar;
+
+	/**
+	 * Constructor de la clase CacheParticiones.
+	 *
+	 * @param capacidad      Cantidad maxima de estados a recordar.
+	 * @param cantEstaciones Cantidad de estaciones.
+	 */
+	public CacheParticiones(int capacidad, int cantEstaciones) {
+		if (capacidad <= 0)
+			throw new IllegalArgumentException("Expected capacidad > 0");
+
+		this.capacidad = capacidad;
+		this.mejoresKms = new LinkedHashMap<Clave, Integer>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Clave, Integer> eldest) {
+				return size() > CacheParticiones.this.capacidad;
+			}
+		};
+		this.etiquetaRaiz = new int[cantEstaciones];
+		Arrays.fill(this.etiquetaRaiz, -1);
+		this.claveAuxiliar = new Clave(0, new int[cantEstaciones]);
+	}
+
+	/**
+	 * Verifica si el estado ya fue alcanzado con igual o menor cantidad de
+	 * kilometros. Si no lo fue, registra los kilometros actuales para el estado.
+	 *
+	 * Complejidad: O(E * log E), donde E es la cantidad de estaciones.
+	 *
+	 * @param posicion Posicion actual en la lista de candidatos.
+	 * @param union    Uniones actuales de las estaciones.
+	 * @param km       Kilometros acumulados en el estado.
+	 * @return true si el estado esta dominado y puede podarse.
+	 */
+	public boolean esDominado(int posicion, UnionFindReversible union, int km) {
+		canonizar(posicion, union);
+
+		Integer previo = this.mejoresKms.get(this.claveAuxiliar);
+		if (previo != null && previo <= km) {
+			return true;
+		}
+
+		// Solo se copia la clave cuando se guarda en la cache
+		this.mejoresKms.put(new Clave(posicion, this.claveAuxiliar.particion.clone()), km);
+		return false;
+	}
+
+	/**
+	 * Obtiene la cantidad de estados guardados.
+	 *
+	 * @return Cantidad de estados.
+	 */
+	public int size() {
+		return this.mejoresKms.size();
+	}
+
+	/**
+	 * Carga en la clave auxiliar la particion canonica del estado: a cada estacion
+	 * le corresponde el numero de orden de la primera estacion de su componente.
+	 */
+	private void canonizar(int posicion, UnionFindReversible union) {
+		int[] particion = this.claveAuxiliar.particion;
+		int siguiente = 0;
+
+		for (int i = 0; i < particion.length; i++) {
+			int raiz = union.find(i);
+			if (this.etiquetaRaiz[raiz] == -1) {
+				this.etiquetaRaiz[raiz] = siguiente++;
+			}
+			particion[i] = this.etiquetaRaiz[raiz];
+		}
+
+		// Limpiar las etiquetas para la proxima canonizacion
+		for (int i = 0; i < particion.length; i++) {
+			this.etiquetaRaiz[union.find(i)] = -1;
+		}
+
+		this.claveAuxiliar.posicion = posicion;
+		this.claveAuxiliar.hash = 31 * posicion + Arrays.hashCode(particion);
+	}
+
+	/**
+	 * Clave de la cache: posicion en la lista de candidatos y particion canonica.
+	 */
+	private static class Clave {
+		private int posicion;
+		private int[] particion;
+		private int hash;
+
+		Clave(int posicion, int[] particion) {
+			this.posicion = posicion;
+			this.particion = particion;
+			this.hash = 31 * posicion + Arrays.hashCode(particion);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Clave))
+				return false;
+			Clave other = (Clave) obj;
+			return posicion == other.posicion && hash == other.hash && Arrays.equals(particion, other.particion);
+		}
+	}
+}
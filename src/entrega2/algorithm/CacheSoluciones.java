@@ -0,0 +1,369 @@
+package entrega2.algorithm;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import entrega2.model.Solucion;
+import entrega2.model.grafo.Arco;
+import entrega2.util.OrdenamientoArcos;
+
+/**
+ * Cache de soluciones direccionada por contenido. La clave de una red es el
+ * SHA-256 del multiconjunto de sus tuneles junto con el algoritmo que la
+ * resuelve (ver {@link #clave(List, String)}), asi que dos listas con los
+ * mismos tuneles en otro orden o con los extremos invertidos comparten la
+ * solucion.
+ *
+ * Las soluciones se guardan en memoria con una politica LRU acotada por la
+ * cantidad total de tuneles guardados, y opcionalmente en un directorio, un
+ * archivo por clave. Lo que se descarta de memoria sigue disponible en disco.
+ * Todos los metodos pueden llamarse desde varios hilos a la vez.
+ */
+public class CacheSoluciones {
+
+	private static final int TAMANIO_BLOQUE = 1024;
+
+	private LinkedHashMap<String, Solucion> soluciones;
+	private int capacidad;
+	private long tunelesEnMemoria;
+	private File directorio;
+
+	private long aciertos;
+	private long fallos;
+
+	/**
+	 * Constructor de la clase CacheSoluciones, solo en memoria.
+	 *
+	 * @param capacidad Cantidad maxima de tuneles, sumando todas las soluciones,
+	 *                  que se guardan en memoria.
+	 */
+	public CacheSoluciones(int capacidad) {
+		this(capacidad, null);
+	}
+
+	/**
+	 * Constructor de la clase CacheSoluciones con un nivel en disco.
+	 *
+	 * @param capacidad  Cantidad maxima de tuneles, sumando todas las soluciones,
+	 *                   que se guardan en memoria.
+	 * @param directorio Directorio donde se guardan las soluciones, o null para
+	 *                   no usar disco. Se crea si no existe.
+	 */
+	public CacheSoluciones(int capacidad, File directorio) {
+		if (capacidad <= 0)
+			throw new IllegalArgumentException("Expected capacidad > 0");
+		if (directorio != null && !directorio.isDirectory() && !directorio.mkdirs())
+			throw new UncheckedIOException(new IOException("No se pudo crear el directorio " + directorio));
+
+		this.capacidad = capacidad;
+		this.directorio = directorio;
+		this.soluciones = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Calcula la clave de una red para un algoritmo. Cada tunel se canoniza como
+	 * (menor estacion, mayor estacion, km) y los tuneles se ordenan antes de
+	 * calcular el hash, por lo que la clave no depende del orden de la lista ni
+	 * del sentido de los tuneles.
+	 *
+	 * Complejidad: O(N), donde N es la cantidad de tuneles.
+	 *
+	 * @param tuneles   Tuneles de la red.
+	 * @param algoritmo Identificador del algoritmo y su configuracion.
+	 * @return El SHA-256 en hexadecimal.
+	 */
+	public static String clave(List<Arco<Integer>> tuneles, String algoritmo) {
+		int n = tuneles.size();
+		int[] menores = new int[n];
+		int[] mayores = new int[n];
+		int[] kms = new int[n];
+		for (int i = 0; i < n; i++) {
+			Arco<Integer> tunel = tuneles.get(i);
+			int origen = tunel.getVerticeOrigen();
+			int destino = tunel.getVerticeDestino();
+			menores[i] = Math.min(origen, destino);
+			mayores[i] = Math.max(origen, destino);
+			kms[i] = tunel.getEtiqueta();
+		}
+
+		// Ordenamientos estables del criterio menos al mas significativo
+		int[] orden = new int[n];
+		for (int i = 0; i < n; i++) {
+			orden[i] = i;
+		}
+		orden = ordenarPor(kms, orden);
+		orden = ordenarPor(mayores, orden);
+		orden = ordenarPor(menores, orden);
+
+		MessageDigest digest = sha256();
+		digest.update(algoritmo.getBytes(StandardCharsets.UTF_8));
+		ByteBuffer bloque = ByteBuffer.allocate(12 * TAMANIO_BLOQUE);
+		bloque.put((byte) 0).putInt(n);
+		for (int i = 0; i < n; i++) {
+			if (bloque.remaining() < 12) {
+				digest.update(bloque.array(), 0, bloque.position());
+				bloque.clear();
+			}
+			int tunel = orden[i];
+			bloque.putInt(menores[tunel]).putInt(mayores[tunel]).putInt(kms[tunel]);
+		}
+		digest.update(bloque.array(), 0, bloque.position());
+
+		StringBuilder hex = new StringBuilder();
+		for (byte b : digest.digest()) {
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return hex.toString();
+	}
+
+	/**
+	 * Reordena una permutacion de tuneles en forma estable segun un valor de cada
+	 * tunel, con el radix sort de {@link OrdenamientoArcos}.
+	 */
+	private static int[] ordenarPor(int[] valores, int[] orden) {
+		int n = orden.length;
+		int[] etiquetas = new int[n];
+		for (int i = 0; i < n; i++) {
+			etiquetas[i] = valores[orden[i]];
+		}
+		long[] claves = OrdenamientoArcos.ordenar(etiquetas, n, OrdenamientoArcos.Algoritmo.RADIX);
+
+		int[] resultado = new int[n];
+		for (int i = 0; i < n; i++) {
+			resultado[i] = orden[OrdenamientoArcos.indice(claves[i])];
+		}
+		return resultado;
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Toda implementacion de Java esta obligada a tener SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Busca la solucion de una clave, primero en memoria y despues en disco. Lo
+	 * que se encuentra en disco se vuelve a guardar en memoria.
+	 *
+	 * @param clave Clave de la red, obtenida con {@link #clave(List, String)}.
+	 * @return La solucion guardada, o null si no hay.
+	 */
+	public Solucion obtener(String clave) {
+		synchronized (this) {
+			Solucion solucion = soluciones.get(clave);
+			if (solucion != null || directorio == null) {
+				contar(solucion != null);
+				return solucion;
+			}
+		}
+
+		Solucion solucion = leer(clave);
+		synchronized (this) {
+			contar(solucion != null);
+			if (solucion != null) {
+				agregarEnMemoria(clave, solucion);
+			}
+		}
+		return solucion;
+	}
+
+	/**
+	 * Guarda la solucion de una clave, en memoria y en disco si corresponde. La
+	 * copia en disco es opcional: si no se puede escribir, la solucion queda solo
+	 * en memoria.
+	 *
+	 * @param clave    Clave de la red, obtenida con {@link #clave(List, String)}.
+	 * @param solucion Solucion de la red.
+	 */
+	public void guardar(String clave, Solucion solucion) {
+		synchronized (this) {
+			agregarEnMemoria(clave, solucion);
+		}
+		if (directorio != null) {
+			escribir(clave, solucion);
+		}
+	}
+
+	private void contar(boolean acierto) {
+		if (acierto) {
+			aciertos++;
+		} else {
+			fallos++;
+		}
+	}
+
+	/**
+	 * Agrega una solucion en memoria y descarta las usadas hace mas tiempo hasta
+	 * volver a la capacidad. Una solucion mas grande que la capacidad no se guarda
+	 * en memoria.
+	 */
+	private void agregarEnMemoria(String clave, Solucion solucion) {
+		// Si no entra ni sola no se guarda, y tampoco se descartan las demas
+		if (peso(solucion) > capacidad) {
+			Solucion anterior = soluciones.remove(clave);
+			if (anterior != null) {
+				tunelesEnMemoria -= peso(anterior);
+			}
+			return;
+		}
+
+		Solucion anterior = soluciones.put(clave, solucion);
+		if (anterior != null) {
+			tunelesEnMemoria -= peso(anterior);
+		}
+		tunelesEnMemoria += peso(solucion);
+
+		Iterator<Map.Entry<String, Solucion>> iterador = soluciones.entrySet().iterator();
+		while (tunelesEnMemoria > capacidad && iterador.hasNext()) {
+			tunelesEnMemoria -= peso(iterador.next().getValue());
+			iterador.remove();
+		}
+	}
+
+	private static int peso(Solucion solucion) {
+		return Math.max(1, solucion.getArcos().size());
+	}
+
+	private File archivo(String clave) {
+		return new File(directorio, clave + ".sol");
+	}
+
+	/**
+	 * Lee la solucion de una clave desde disco. Un archivo truncado o danado se
+	 * borra y se toma como si no estuviera, para que la solucion se vuelva a buscar
+	 * y a escribir.
+	 *
+	 * @return La solucion, o null si no esta en disco o no se pudo leer.
+	 */
+	private Solucion leer(String clave) {
+		File archivo = archivo(clave);
+		if (!archivo.isFile()) {
+			return null;
+		}
+
+		try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(new FileInputStream(archivo)))) {
+			int kms = entrada.readInt();
+			int metrica = entrada.readInt();
+			double tiempo = entrada.readDouble();
+			String nombre = entrada.readUTF();
+			int cantidad = entrada.readInt();
+			if (cantidad < 0 || 12L * cantidad > archivo.length()) {
+				return descartar(archivo);
+			}
+			List<Arco<Integer>> arcos = new ArrayList<>(cantidad);
+			for (int i = 0; i < cantidad; i++) {
+				arcos.add(new Arco<Integer>(entrada.readInt(), entrada.readInt(), entrada.readInt()));
+			}
+			if (entrada.read() != -1) {
+				return descartar(archivo);
+			}
+			return new Solucion(arcos, kms, metrica, tiempo, nombre);
+		} catch (FileNotFoundException e) {
+			// Lo borro otro hilo o proceso despues de verificar que existia
+			return null;
+		} catch (EOFException | UTFDataFormatException e) {
+			// El archivo esta truncado o danado
+			return descartar(archivo);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static Solucion descartar(File archivo) {
+		archivo.delete();
+		return null;
+	}
+
+	/**
+	 * Escribe la solucion de una clave en disco. Se escribe en un archivo temporal
+	 * y se renombra, para que otro hilo o proceso nunca lea un archivo a medias. Si
+	 * falla se borra el temporal y la solucion no se escribe.
+	 */
+	private void escribir(String clave, Solucion solucion) {
+		File temporal = null;
+		try {
+			temporal = File.createTempFile(clave, ".tmp", directorio);
+			try (DataOutputStream salida = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(temporal)))) {
+				salida.writeInt(solucion.getKms());
+				salida.writeInt(solucion.getMetrica());
+				salida.writeDouble(solucion.getTiempo());
+				salida.writeUTF(solucion.getNombreResolutor());
+				salida.writeInt(solucion.getArcos().size());
+				for (Arco<Integer> arco : solucion.getArcos()) {
+					salida.writeInt(arco.getVerticeOrigen());
+					salida.writeInt(arco.getVerticeDestino());
+					salida.writeInt(arco.getEtiqueta());
+				}
+			}
+			Files.move(temporal.toPath(), archivo(clave).toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			// Sin espacio o sin permisos en el directorio: la solucion ya esta en memoria
+			if (temporal != null) {
+				temporal.delete();
+			}
+		}
+	}
+
+	/**
+	 * Obtiene la cantidad de soluciones guardadas en memoria.
+	 *
+	 * @return Cantidad de soluciones.
+	 */
+	public synchronized int size() {
+		return soluciones.size();
+	}
+
+	/**
+	 * Obtiene la cantidad de tuneles guardados en memoria, sumando todas las
+	 * soluciones.
+	 *
+	 * @return Cantidad de tuneles.
+	 */
+	public synchronized long getTunelesEnMemoria() {
+		return tunelesEnMemoria;
+	}
+
+	/**
+	 * Obtiene la cantidad de busquedas que encontraron una solucion guardada.
+	 *
+	 * @return Cantidad de aciertos.
+	 */
+	public synchronized long getAciertos() {
+		return aciertos;
+	}
+
+	/**
+	 * Obtiene la cantidad de busquedas que no encontraron una solucion guardada.
+	 *
+	 * @return Cantidad de fallos.
+	 */
+	public synchronized long getFallos() {
+		return fallos;
+	}
+}
@@ -3,14 +3,17 @@ package entrega2.algorithm;
 import java.util.ArrayList;
 import java.util.List;
 
+import entrega2.algorithm.Instrumentacion.Contadores;
+import entrega2.model.ArcosPrimitivos;
 import entrega2.model.grafo.Arco;
-import entrega2.util.UnionFind;
+import entrega2.util.OrdenamientoArcos;
+import entrega2.util.UnionFindSecuencial;
 
 /**
  * Clase que implementa el algoritmo Greedy para resolver el problema.
  */
 public class Greedy extends Resolutor {
-	private UnionFind unionFind;
+	private UnionFindSecuencial unionFind;
 
 	/**
 	 * Constructor de la clase Greedy.
@@ -23,65 +26,94 @@ public class Greedy extends Resolutor {
 	}
 
 	/**
-	 * Implementacion del algoritmo Greedy para buscar la solucion.
+	 * Implementacion del algoritmo Greedy para buscar la solucion. La lista de
+	 * candidatos no se modifica.
 	 * 
 	 * @param candidatos Lista de arcos candidatos.
 	 * @return Lista de arcos que representan la solucion.
 	 * 
-	 *  Complejidad: O(E * N), donde E es la cantidad de estaciones y N los tuneles.
+	 *  Complejidad: O(N log E), donde E es la cantidad de estaciones y N los tuneles.
 	 */
 	@Override
 	public List<Arco<Integer>> buscarSolucion(List<Arco<Integer>> candidatos) {
+		reiniciar();
 		ArrayList<Arco<Integer>> solucion = new ArrayList<>();
 
-		// Ordenar los candidatos por menor kilometro
-		ordenarCandidatosMenorKm(candidatos);
+		// Obtener las estaciones y los candidatos con indices densos
+		ArcosPrimitivos arcos = traducirCandidatos(candidatos);
+		int[] origenes = arcos.getOrigenes();
+		int[] destinos = arcos.getDestinos();
+		int[] etiquetas = arcos.getEtiquetas();
 
-		// Obtener las estaciones
-		popularEstaciones(candidatos, estaciones);
+		// Ordenar los candidatos por menor kilometro
+		long[] orden = ordenarCandidatosMenorKm(arcos);
 
 		// Crear una estructura UnionFind para unir estaciones
-		this.unionFind = new UnionFind(this.estaciones.size());
+		this.unionFind = new UnionFindSecuencial(this.estaciones.size());
+
+		// Cada arco evaluado cuenta como un nodo, a la profundidad de los arcos ya elegidos
+		Contadores contadores = this.instrumentacion != null ? this.instrumentacion.contadores() : null;
 
-		while (!candidatos.isEmpty() && solucion.size() < this.estaciones.size() - 1) {
-			Arco<Integer> arco = candidatos.remove(0);
+		// Recorrer los candidatos ordenados con un cursor, sin quitarlos de la lista
+		for (int i = 0; i < orden.length && solucion.size() < this.estaciones.size() - 1; i++) {
+			int t = OrdenamientoArcos.indice(orden[i]);
 			sumarMetrica();
-			if (esArcoValido(arco)) {
-				solucion.add(arco);
-				int verticeOrigen = this.estaciones.indexOf(arco.getVerticeOrigen());
-				int verticeDestino = this.estaciones.indexOf(arco.getVerticeDestino());
-				this.unionFind.union(verticeOrigen, verticeDestino);
-				this.kms += arco.getEtiqueta();
+			if (contadores != null) {
+				contadores.nodo(solucion.size());
+				contadores.busquedas(2);
 			}
+			if (esArcoValido(origenes[t], destinos[t])) {
+				solucion.add(candidatos.get(t));
+				this.unionFind.union(origenes[t], destinos[t]);
+				this.kms += etiquetas[t];
+				if (contadores != null) {
+					contadores.uniones(1);
+				}
+			}
+		}
+
+		if (contadores != null && solucion.size() == this.estaciones.size() - 1) {
+			contadores.hoja();
+			this.instrumentacion.mejora(this.kms);
 		}
 
 		return solucion;
 	}
 
 	/**
-	 * El algoritmo de ordenamiento QuickSort es utilizado para realizar el
-	 * ordenamiento.
+	 * Se ordenan los kilometros como claves primitivas con radix sort (ver
+	 * {@link OrdenamientoArcos}). El orden es estable, igual que ordenar la lista
+	 * con {@link Arco#etiquetaComparator()}.
 	 * 
-	 * Complejidad: O(N log N), donde N es la cantidad de candidatos.
+	 * Complejidad: O(N), donde N es la cantidad de candidatos.
 	 * 
-	 * @param candidatos Lista de arcos candidatos.
+	 * @param arcos Candidatos en arreglos primitivos.
+	 * @return Claves ordenadas; el indice de cada candidato se obtiene con
+	 *         {@link OrdenamientoArcos#indice(long)}.
 	 */
-	private void ordenarCandidatosMenorKm(List<Arco<Integer>> candidatos) {
-		candidatos.sort(Arco.etiquetaComparator());
+	private long[] ordenarCandidatosMenorKm(ArcosPrimitivos arcos) {
+		return OrdenamientoArcos.ordenar(arcos.getEtiquetas(), arcos.getCantidad(), OrdenamientoArcos.Algoritmo.RADIX);
+	}
+
+	@Override
+	protected void reiniciar() {
+		super.reiniciar();
+		this.unionFind = null;
 	}
 
 	/**
 	 * Verifica si un arco es valido en base a las estaciones ya seleccionadas.
 	 *
-	 * Complejidad: O(N) donde N es la cantidad de estaciones.
+	 * Complejidad: O(alfa(E)) amortizado, donde E es la cantidad de estaciones.
 	 * 
-	 * @param arco Arco a verificar.
+	 * @param origen  Indice de la estacion de origen del arco.
+	 * @param destino Indice de la estacion de destino del arco.
 	 * @return true si el arco es valido, false en caso contrario.
 	 * 
 	 */
-	private boolean esArcoValido(Arco<Integer> arco) {
-		int destino = this.unionFind.find(this.estaciones.indexOf(arco.getVerticeDestino()));
-		int origen = this.unionFind.find(this.estaciones.indexOf(arco.getVerticeOrigen()));
+	private boolean esArcoValido(int origen, int destino) {
+		destino = this.unionFind.find(destino);
+		origen = this.unionFind.find(origen);
 
 		// Verificar si el arco conecta dos componentes distintas
 		return destino != origen;
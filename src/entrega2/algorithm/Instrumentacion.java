@@ -0,0 +1,290 @@
+package entrega2.algorithm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registro detallado de una busqueda, mas completo que la metrica de
+ * {@link Resolutor}: nodos expandidos, podas por motivo, hojas evaluadas,
+ * mejoras de la solucion con su momento, operaciones de union y busqueda del
+ * UnionFind y profundidad maxima alcanzada.
+ * <p>
+ * Cada hilo escribe en sus propios {@link Contadores}, sin sincronizacion, y los
+ * totales se suman al consultarlos. Por eso los totales solo son exactos una vez
+ * terminada la busqueda. Se asigna a un resolutor con
+ * {@link Resolutor#setInstrumentacion(Instrumentacion)} y los resultados se
+ * pueden exportar con {@link #aJson()}.
+ */
+public class Instrumentacion {
+
+	/**
+	 * Motivo por el que se descarta un nodo o una rama de la busqueda.
+	 */
+	public enum Poda {
+		/** Se alcanzo el limite de tiempo o de nodos. */
+		LIMITE,
+		/** El estado ya se habia alcanzado con menos kilometros. */
+		MEMORIA,
+		/** La cota inferior no puede mejorar la mejor solucion. */
+		COTA_INFERIOR,
+		/** Incluir el arco cerraria un ciclo. */
+		CICLO,
+		/** Incluir el arco no mejora los kilometros de la mejor solucion. */
+		KILOMETROS,
+		/** Sin el arco ya no se pueden conectar todas las estaciones. */
+		INFACTIBLE,
+		/** No quedan candidatos y las estaciones no estan conectadas. */
+		SIN_CANDIDATOS
+	}
+
+	/**
+	 * Contadores de un hilo. Solo los modifica el hilo que los obtuvo con
+	 * {@link Instrumentacion#contadores()}.
+	 */
+	public static class Contadores {
+		private long nodos;
+		private long hojas;
+		private long uniones;
+		private long busquedas;
+		private int profundidadMaxima;
+		private long[] podas = new long[Poda.values().length];
+
+		/**
+		 * Registra la expansion de un nodo.
+		 *
+		 * @param profundidad Profundidad del nodo en el arbol de busqueda.
+		 */
+		public void nodo(int profundidad) {
+			nodos++;
+			if (profundidad > profundidadMaxima) {
+				profundidadMaxima = profundidad;
+			}
+		}
+
+		/**
+		 * Registra la evaluacion de una solucion completa.
+		 */
+		public void hoja() {
+			hojas++;
+		}
+
+		/**
+		 * Registra una poda.
+		 *
+		 * @param motivo Motivo de la poda.
+		 */
+		public void poda(Poda motivo) {
+			podas[motivo.ordinal()]++;
+		}
+
+		/**
+		 * Registra operaciones de union del UnionFind.
+		 *
+		 * @param cantidad Cantidad de uniones.
+		 */
+		public void uniones(int cantidad) {
+			uniones += cantidad;
+		}
+
+		/**
+		 * Registra operaciones de busqueda (find) del UnionFind.
+		 *
+		 * @param cantidad Cantidad de busquedas.
+		 */
+		public void busquedas(int cantidad) {
+			busquedas += cantidad;
+		}
+
+		private void reiniciar() {
+			nodos = hojas = uniones = busquedas = 0;
+			profundidadMaxima = 0;
+			podas = new long[Poda.values().length];
+		}
+	}
+
+	/**
+	 * Mejora de la solucion: sus kilometros y el momento en que se encontro.
+	 */
+	public static class Mejora {
+		private final double tiempo;
+		private final int kms;
+
+		Mejora(double tiempo, int kms) {
+			this.tiempo = tiempo;
+			this.kms = kms;
+		}
+
+		/**
+		 * Obtiene el momento de la mejora.
+		 *
+		 * @return Milisegundos desde el inicio de la instrumentacion.
+		 */
+		public double getTiempo() {
+			return tiempo;
+		}
+
+		/**
+		 * Obtiene los kilometros de la nueva mejor solucion.
+		 *
+		 * @return Kilometros.
+		 */
+		public int getKms() {
+			return kms;
+		}
+	}
+
+	private final List<Contadores> registrados;
+	private final ThreadLocal<Contadores> locales;
+	private final List<Mejora> mejoras;
+	private volatile long inicio;
+
+	/**
+	 * Constructor de la clase Instrumentacion. Los tiempos de las mejoras se miden
+	 * desde este momento o desde el ultimo {@link #reiniciar()}.
+	 */
+	public Instrumentacion() {
+		this.registrados = new CopyOnWriteArrayList<>();
+		this.locales = ThreadLocal.withInitial(() -> {
+			Contadores contadores = new Contadores();
+			registrados.add(contadores);
+			return contadores;
+		});
+		this.mejoras = Collections.synchronizedList(new ArrayList<>());
+		this.inicio = System.nanoTime();
+	}
+
+	/**
+	 * Obtiene los contadores del hilo actual. Conviene obtenerlos una vez por
+	 * busqueda (o por tarea) y guardarlos, en lugar de pedirlos en cada nodo.
+	 *
+	 * @return Contadores del hilo actual.
+	 */
+	public Contadores contadores() {
+		return locales.get();
+	}
+
+	/**
+	 * Registra una mejora de la solucion en el momento actual.
+	 *
+	 * @param kms Kilometros de la nueva mejor solucion.
+	 */
+	public void mejora(int kms) {
+		mejoras.add(new Mejora((System.nanoTime() - inicio) / 1000000.0, kms));
+	}
+
+	/**
+	 * Pone todos los contadores en cero y descarta las mejoras. No debe llamarse
+	 * mientras una busqueda esta en curso.
+	 */
+	public void reiniciar() {
+		for (Contadores contadores : registrados) {
+			contadores.reiniciar();
+		}
+		mejoras.clear();
+		inicio = System.nanoTime();
+	}
+
+	public long getNodos() {
+		long total = 0;
+		for (Contadores contadores : registrados) {
+			total += contadores.nodos;
+		}
+		return total;
+	}
+
+	public long getHojas() {
+		long total = 0;
+		for (Contadores contadores : registrados) {
+			total += contadores.hojas;
+		}
+		return total;
+	}
+
+	public long getUniones() {
+		long total = 0;
+		for (Contadores contadores : registrados) {
+			total += contadores.uniones;
+		}
+		return total;
+	}
+
+	public long getBusquedas() {
+		long total = 0;
+		for (Contadores contadores : registrados) {
+			total += contadores.busquedas;
+		}
+		return total;
+	}
+
+	public int getProfundidadMaxima() {
+		int maxima = 0;
+		for (Contadores contadores : registrados) {
+			maxima = Math.max(maxima, contadores.profundidadMaxima);
+		}
+		return maxima;
+	}
+
+	/**
+	 * Obtiene la cantidad de podas por un motivo.
+	 *
+	 * @param motivo Motivo de la poda.
+	 * @return Cantidad de podas.
+	 */
+	public long getPodas(Poda motivo) {
+		long total = 0;
+		for (Contadores contadores : registrados) {
+			total += contadores.podas[motivo.ordinal()];
+		}
+		return total;
+	}
+
+	/**
+	 * Obtiene las mejoras de la solucion, en el orden en que se registraron.
+	 *
+	 * @return Copia de la lista de mejoras.
+	 */
+	public List<Mejora> getMejoras() {
+		synchronized (mejoras) {
+			return new ArrayList<>(mejoras);
+		}
+	}
+
+	/**
+	 * Exporta los totales y las mejoras en formato JSON.
+	 *
+	 * @return Texto JSON.
+	 */
+	public String aJson() {
+		StringBuilder json = new StringBuilder();
+		json.append("{\"nodos\":").append(getNodos());
+		json.append(",\"hojas\":").append(getHojas());
+		json.append(",\"profundidadMaxima\":").append(getProfundidadMaxima());
+		json.append(",\"uniones\":").append(getUniones());
+		json.append(",\"busquedas\":").append(getBusquedas());
+
+		json.append(",\"podas\":{");
+		for (Poda motivo : Poda.values()) {
+			if (motivo.ordinal() > 0) {
+				json.append(',');
+			}
+			json.append('"').append(motivo.name()).append("\":").append(getPodas(motivo));
+		}
+		json.append('}');
+
+		json.append(",\"mejoras\":[");
+		List<Mejora> lista = getMejoras();
+		for (int i = 0; i < lista.size(); i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append(String.format(Locale.ROOT, "{\"tiempoMs\":%.3f,\"kms\":%d}", lista.get(i).getTiempo(),
+					lista.get(i).getKms()));
+		}
+		json.append("]}");
+
+		return json.toString();
+	}
+}
@@ -0,0 +1,301 @@
+package entrega2.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import entrega2.model.grafo.Arco;
+import entrega2.util.IndiceEstaciones;
+import entrega2.util.UnionFind;
+
+/**
+ * Preprocesamiento que reduce la lista de tuneles candidatos antes de resolver
+ * el problema en forma exacta. Aplica, en orden:
+ * <ol>
+ * <li>Tuneles repetidos entre el mismo par de estaciones: se conserva el de menor
+ * kilometraje. Los tuneles de una estacion a si misma se descartan.</li>
+ * <li>Propiedad del ciclo: se descarta todo tunel que es estrictamente el mas
+ * largo de algun ciclo, ya que no puede pertenecer a ninguna solucion optima.</li>
+ * <li>Puentes: todo tunel cuya eliminacion desconecta la red esta en cualquier
+ * solucion, asi que se fuerza y se contraen sus dos estaciones en una.</li>
+ * </ol>
+ * El resultado es un nucleo (kernel) mas chico que cualquier {@link Resolutor}
+ * puede resolver, y cuya solucion se traduce a los tuneles originales con
+ * {@link #traducir(List)}.
+ */
+public class Kernelizacion {
+
+	private List<Arco<Integer>> nucleo;
+	private List<Arco<Integer>> forzados;
+	private int kmsForzados;
+	private Map<Arco<Integer>, Arco<Integer>> originales;
+
+	private Kernelizacion() {
+		this.nucleo = new ArrayList<>();
+		this.forzados = new ArrayList<>();
+		this.kmsForzados = 0;
+		this.originales = new IdentityHashMap<>();
+	}
+
+	/**
+	 * Aplica las reducciones sobre la lista de candidatos. La lista recibida no se
+	 * modifica.
+	 *
+	 * Complejidad: O(N log N), donde N es la cantidad de tuneles.
+	 *
+	 * @param candidatos Lista de arcos candidatos.
+	 * @return Kernelizacion con el nucleo, los tuneles forzados y la traduccion.
+	 */
+	public static Kernelizacion aplicar(List<Arco<Integer>> candidatos) {
+		Kernelizacion k = new Kernelizacion();
+
+		List<Arco<Integer>> unicos = colapsarRepetidos(candidatos);
+
+		// Asignar un indice denso a cada estacion
+		IndiceEstaciones estaciones = new IndiceEstaciones();
+		int[] origenes = new int[unicos.size()];
+		int[] destinos = new int[unicos.size()];
+		for (int i = 0; i < unicos.size(); i++) {
+			origenes[i] = estaciones.agregar(unicos.get(i).getVerticeOrigen());
+			destinos[i] = estaciones.agregar(unicos.get(i).getVerticeDestino());
+		}
+
+		int cantEstaciones = estaciones.cantidad();
+		if (cantEstaciones == 0) {
+			return k;
+		}
+
+		boolean[] descartados = aplicarPropiedadCiclo(unicos, origenes, destinos, cantEstaciones);
+		boolean[] puentes = buscarPuentes(origenes, destinos, descartados, cantEstaciones);
+
+		// Forzar los puentes y contraer sus estaciones
+		UnionFind contraccion = new UnionFind(cantEstaciones);
+		for (int i = 0; i < unicos.size(); i++) {
+			if (puentes[i]) {
+				k.forzados.add(unicos.get(i));
+				k.kmsForzados += unicos.get(i).getEtiqueta();
+				contraccion.union(origenes[i], destinos[i]);
+			}
+		}
+
+		// El resto de los tuneles forma el nucleo, entre las estaciones contraidas.
+		// Cada estacion contraida se identifica con la estacion representante del grupo.
+		for (int i = 0; i < unicos.size(); i++) {
+			if (!descartados[i] && !puentes[i]) {
+				Arco<Integer> original = unicos.get(i);
+				int origen = estaciones.estacion(contraccion.find(origenes[i]));
+				int destino = estaciones.estacion(contraccion.find(destinos[i]));
+				Arco<Integer> arco = new Arco<>(origen, destino, original.getEtiqueta());
+				k.nucleo.add(arco);
+				k.originales.put(arco, original);
+			}
+		}
+
+		return k;
+	}
+
+	/**
+	 * Obtiene los tuneles del nucleo, expresados entre estaciones contraidas.
+	 *
+	 * @return Lista de arcos del nucleo.
+	 */
+	public List<Arco<Integer>> getNucleo() {
+		return nucleo;
+	}
+
+	/**
+	 * Obtiene los tuneles que pertenecen a cualquier solucion.
+	 *
+	 * @return Lista de arcos forzados.
+	 */
+	public List<Arco<Integer>> getForzados() {
+		return forzados;
+	}
+
+	/**
+	 * Obtiene los kilometros totales de los tuneles forzados.
+	 *
+	 * @return Kilometros de los tuneles forzados.
+	 */
+	public int getKmsForzados() {
+		return kmsForzados;
+	}
+
+	/**
+	 * Traduce una solucion del nucleo a los tuneles originales y le agrega los
+	 * tuneles forzados.
+	 *
+	 * @param solucionNucleo Solucion obtenida sobre {@link #getNucleo()}.
+	 * @return Solucion expresada con los arcos originales.
+	 */
+	public List<Arco<Integer>> traducir(List<Arco<Integer>> solucionNucleo) {
+		List<Arco<Integer>> solucion = new ArrayList<>(forzados);
+		for (Arco<Integer> arco : solucionNucleo) {
+			Arco<Integer> original = originales.get(arco);
+			if (original == null)
+				throw new IllegalArgumentException("El arco no pertenece al nucleo: " + arco);
+			solucion.add(original);
+		}
+		return solucion;
+	}
+
+	/**
+	 * Conserva un unico tunel por par de estaciones, el de menor kilometraje (el
+	 * primero en caso de empate), y descarta los tuneles de una estacion a si misma.
+	 *
+	 * Complejidad: O(N), donde N es la cantidad de tuneles.
+	 */
+	private static List<Arco<Integer>> colapsarRepetidos(List<Arco<Integer>> candidatos) {
+		Map<Long, Integer> posiciones = new HashMap<>();
+		List<Arco<Integer>> unicos = new ArrayList<>();
+
+		for (Arco<Integer> arco : candidatos) {
+			int a = arco.getVerticeOrigen();
+			int b = arco.getVerticeDestino();
+			if (a == b) {
+				continue;
+			}
+
+			long par = ((long) Math.min(a, b) << 32) | (Math.max(a, b) & 0xFFFFFFFFL);
+			Integer posicion = posiciones.get(par);
+			if (posicion == null) {
+				posiciones.put(par, unicos.size());
+				unicos.add(arco);
+			} else if (arco.getEtiqueta() < unicos.get(posicion).getEtiqueta()) {
+				unicos.set(posicion, arco);
+			}
+		}
+
+		return unicos;
+	}
+
+	/**
+	 * Marca los tuneles que son estrictamente los mas largos de algun ciclo. Un
+	 * tunel (u, v) lo es si y solo si u y v ya estan conectados por tuneles
+	 * estrictamente mas cortos, lo que se verifica procesando los tuneles por
+	 * grupos de igual kilometraje, al estilo de Kruskal.
+	 *
+	 * Complejidad: O(N log N), donde N es la cantidad de tuneles.
+	 */
+	private static boolean[] aplicarPropiedadCiclo(List<Arco<Integer>> arcos, int[] origenes, int[] destinos,
+			int cantEstaciones) {
+		Integer[] orden = new Integer[arcos.size()];
+		for (int i = 0; i < orden.length; i++) {
+			orden[i] = i;
+		}
+		Arrays.sort(orden, (a, b) -> Integer.compare(arcos.get(a).getEtiqueta(), arcos.get(b).getEtiqueta()));
+
+		boolean[] descartados = new boolean[arcos.size()];
+		UnionFind union = new UnionFind(cantEstaciones);
+
+		int inicio = 0;
+		while (inicio < orden.length) {
+			int km = arcos.get(orden[inicio]).getEtiqueta();
+			int fin = inicio;
+			while (fin < orden.length && arcos.get(orden[fin]).getEtiqueta() == km) {
+				fin++;
+			}
+
+			// Primero se evalua todo el grupo contra los tuneles mas cortos...
+			for (int i = inicio; i < fin; i++) {
+				int arco = orden[i];
+				descartados[arco] = union.find(origenes[arco]) == union.find(destinos[arco]);
+			}
+			// ... y recien despues se agregan los del grupo
+			for (int i = inicio; i < fin; i++) {
+				union.union(origenes[orden[i]], destinos[orden[i]]);
+			}
+
+			inicio = fin;
+		}
+
+		return descartados;
+	}
+
+	/**
+	 * Marca los puentes entre los tuneles no descartados, con el algoritmo de
+	 * Tarjan implementado con una pila explicita.
+	 *
+	 * Complejidad: O(V + N), donde V es la cantidad de estaciones y N la cantidad
+	 * de tuneles.
+	 */
+	private static boolean[] buscarPuentes(int[] origenes, int[] destinos, boolean[] descartados,
+			int cantEstaciones) {
+		// Listas de adyacencia en arreglos: cada tunel aparece una vez por extremo
+		int[] primero = new int[cantEstaciones];
+		Arrays.fill(primero, -1);
+		int[] siguiente = new int[origenes.length * 2];
+		int[] vecino = new int[origenes.length * 2];
+		for (int i = 0; i < origenes.length; i++) {
+			if (!descartados[i]) {
+				vecino[2 * i] = destinos[i];
+				siguiente[2 * i] = primero[origenes[i]];
+				primero[origenes[i]] = 2 * i;
+
+				vecino[2 * i + 1] = origenes[i];
+				siguiente[2 * i + 1] = primero[destinos[i]];
+				primero[destinos[i]] = 2 * i + 1;
+			}
+		}
+
+		boolean[] puentes = new boolean[origenes.length];
+		int[] descubierto = new int[cantEstaciones];
+		int[] bajo = new int[cantEstaciones];
+		Arrays.fill(descubierto, -1);
+
+		int[] pila = new int[cantEstaciones];
+		int[] arcoPadre = new int[cantEstaciones];
+		int[] cursor = new int[cantEstaciones];
+		int tiempo = 0;
+
+		for (int raiz = 0; raiz < cantEstaciones; raiz++) {
+			if (descubierto[raiz] != -1) {
+				continue;
+			}
+
+			int tope = 0;
+			pila[0] = raiz;
+			arcoPadre[raiz] = -1;
+			cursor[raiz] = primero[raiz];
+			descubierto[raiz] = bajo[raiz] = tiempo++;
+
+			while (tope >= 0) {
+				int v = pila[tope];
+				int entrada = cursor[v];
+
+				if (entrada != -1) {
+					cursor[v] = siguiente[entrada];
+					int arco = entrada / 2;
+					int w = vecino[entrada];
+
+					if (arco == arcoPadre[v]) {
+						continue;
+					}
+					if (descubierto[w] == -1) {
+						arcoPadre[w] = arco;
+						cursor[w] = primero[w];
+						descubierto[w] = bajo[w] = tiempo++;
+						pila[++tope] = w;
+					} else {
+						bajo[v] = Math.min(bajo[v], descubierto[w]);
+					}
+				} else {
+					// Se terminaron los vecinos de v: actualizar al padre
+					tope--;
+					if (tope >= 0) {
+						int padre = pila[tope];
+						bajo[padre] = Math.min(bajo[padre], bajo[v]);
+						if (bajo[v] > descubierto[padre]) {
+							puentes[arcoPadre[v]] = true;
+						}
+					}
+				}
+			}
+		}
+
+		return puentes;
+	}
+}
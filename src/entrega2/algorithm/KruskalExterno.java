@@ -0,0 +1,419 @@
+package entrega2.algorithm;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import entrega2.model.grafo.Arco;
+import entrega2.util.IndiceEstaciones;
+import entrega2.util.LectorMapeado;
+import entrega2.util.OrdenamientoArcos;
+import entrega2.util.UnionFindSecuencial;
+
+/**
+ * Clase que implementa el algoritmo de Kruskal en memoria externa, para redes
+ * cuyos tuneles no entran en memoria. Los tuneles se leen en bloques de tamanio
+ * fijo; cada bloque se ordena por menor kilometro y se escribe en un archivo
+ * temporal (una "corrida"), y al final las corridas se mezclan en orden y se
+ * procesan con un {@link UnionFindSecuencial} a medida que se leen. En memoria solo quedan
+ * el bloque en curso y las estructuras de las estaciones, O(V).
+ * <p>
+ * Da el mismo resultado que {@link Greedy}: los empates de kilometros se
+ * resuelven por la posicion del tunel en la entrada. Esa posicion viaja en la
+ * clave de cada tunel de las corridas, y con ella la solucion se arma con los
+ * mismos objetos de la lista de candidatos.
+ */
+public class KruskalExterno extends Resolutor {
+
+	/**
+	 * Cantidad de tuneles por corrida por defecto (16 bytes por tunel en memoria).
+	 */
+	public static final int TAMANIO_CORRIDA = 1 << 22;
+
+	/**
+	 * Cantidad maxima de corridas que se mezclan a la vez. Si hay mas, se mezclan
+	 * por grupos en corridas intermedias.
+	 */
+	public static final int CORRIDAS_POR_MEZCLA = 64;
+
+	private int tamanioCorrida;
+	private File directorio;
+
+	// Estado de la busqueda en curso
+	private IndiceEstaciones indices;
+	private int[] origenes;
+	private int[] destinos;
+	private int[] etiquetas;
+	private int cantidadBloque;
+	private int cantidadLeidos;
+	private List<File> corridas;
+	private List<Arco<Integer>> candidatos;
+
+	/**
+	 * Constructor de la clase KruskalExterno, con el tamanio de corrida por defecto
+	 * y el directorio temporal del sistema.
+	 */
+	public KruskalExterno() {
+		this(TAMANIO_CORRIDA, null);
+	}
+
+	/**
+	 * Constructor de la clase KruskalExterno.
+	 *
+	 * @param tamanioCorrida Cantidad de tuneles que se ordenan en memoria por corrida.
+	 * @param directorio     Directorio para los archivos temporales, o null para
+	 *                       usar el del sistema.
+	 */
+	public KruskalExterno(int tamanioCorrida, File directorio) {
+		if (tamanioCorrida <= 0)
+			throw new IllegalArgumentException("El tamanio de corrida debe ser positivo");
+
+		this.estaciones = new ArrayList<>();
+		this.kms = 0;
+		this.metrica = 0;
+		this.nombre = "Kruskal Externo";
+		this.tamanioCorrida = tamanioCorrida;
+		this.directorio = directorio;
+	}
+
+	/**
+	 * Implementacion del algoritmo de Kruskal en memoria externa sobre una lista de
+	 * candidatos. La lista no se modifica.
+	 *
+	 * Complejidad: O(N log N), donde N es la cantidad de tuneles.
+	 *
+	 * @param candidatos Lista de arcos candidatos.
+	 * @return Lista de arcos que representan la solucion.
+	 */
+	@Override
+	public List<Arco<Integer>> buscarSolucion(List<Arco<Integer>> candidatos) {
+		iniciar();
+		this.candidatos = candidatos;
+		try {
+			for (Arco<Integer> arco : candidatos) {
+				agregar(arco.getVerticeOrigen(), arco.getVerticeDestino(), arco.getEtiqueta());
+			}
+			return resolver();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			borrarCorridas();
+		}
+	}
+
+	/**
+	 * Implementacion del algoritmo de Kruskal en memoria externa leyendo los
+	 * tuneles directamente de un archivo con el formato de
+	 * {@link entrega2.util.CSVReader} (E1;E2;15), sin cargarlo entero en memoria:
+	 * {@link LectorMapeado#recorrer} entrega los tuneles de a uno.
+	 *
+	 * Complejidad: O(N log N), donde N es la cantidad de tuneles.
+	 *
+	 * @param path Ruta del archivo de tuneles.
+	 * @return Lista de arcos que representan la solucion.
+	 */
+	public List<Arco<Integer>> buscarSolucion(String path) {
+		iniciar();
+		try {
+			new LectorMapeado(path).recorrer((origen, destino, km) -> {
+				try {
+					agregar(origen, destino, km);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			return resolver();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			borrarCorridas();
+		}
+	}
+
+	private void iniciar() {
+		reiniciar();
+		this.indices = new IndiceEstaciones();
+		this.origenes = new int[16];
+		this.destinos = new int[16];
+		this.etiquetas = new int[16];
+		this.cantidadBloque = 0;
+		this.cantidadLeidos = 0;
+		this.corridas = new ArrayList<>();
+		this.candidatos = null;
+	}
+
+	/**
+	 * Agrega un tunel al bloque en curso, y si el bloque se llena lo vuelca a una
+	 * corrida.
+	 */
+	private void agregar(int origen, int destino, int km) throws IOException {
+		if (cantidadLeidos == Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Demasiados tuneles");
+
+		if (cantidadBloque == origenes.length) {
+			int capacidad = (int) Math.min(tamanioCorrida, 2L * origenes.length);
+			origenes = Arrays.copyOf(origenes, capacidad);
+			destinos = Arrays.copyOf(destinos, capacidad);
+			etiquetas = Arrays.copyOf(etiquetas, capacidad);
+		}
+
+		origenes[cantidadBloque] = indice(origen);
+		destinos[cantidadBloque] = indice(destino);
+		etiquetas[cantidadBloque] = km;
+		cantidadBloque++;
+		cantidadLeidos++;
+
+		if (cantidadBloque == tamanioCorrida) {
+			volcarBloque();
+		}
+	}
+
+	private int indice(int estacion) {
+		int indice = indices.agregar(estacion);
+		if (indice == estaciones.size()) {
+			estaciones.add(estacion);
+		}
+		return indice;
+	}
+
+	/**
+	 * Ordena el bloque en curso y lo escribe en una corrida. Cada tunel se guarda
+	 * como su clave de ordenamiento (kilometros y posicion en la entrada) seguida de
+	 * sus dos estaciones.
+	 */
+	private void volcarBloque() throws IOException {
+		long[] orden = OrdenamientoArcos.ordenar(etiquetas, cantidadBloque, OrdenamientoArcos.Algoritmo.RADIX);
+		int base = cantidadLeidos - cantidadBloque;
+
+		File corrida = File.createTempFile("kruskal", ".corrida", directorio);
+		corridas.add(corrida);
+		try (DataOutputStream salida = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(corrida), 1 << 16))) {
+			for (int i = 0; i < cantidadBloque; i++) {
+				int local = OrdenamientoArcos.indice(orden[i]);
+				salida.writeLong(OrdenamientoArcos.clave(etiquetas[local], base + local));
+				salida.writeInt(origenes[local]);
+				salida.writeInt(destinos[local]);
+			}
+		}
+		cantidadBloque = 0;
+	}
+
+	/**
+	 * Recorre los tuneles en orden y arma la solucion. Si todos los tuneles entraron
+	 * en un solo bloque se resuelve en memoria, sin archivos temporales.
+	 */
+	private List<Arco<Integer>> resolver() throws IOException {
+		List<Arco<Integer>> solucion = new ArrayList<>();
+		if (estaciones.isEmpty()) {
+			return solucion;
+		}
+		UnionFindSecuencial unionFind = new UnionFindSecuencial(estaciones.size());
+
+		if (corridas.isEmpty()) {
+			long[] orden = OrdenamientoArcos.ordenar(etiquetas, cantidadBloque, OrdenamientoArcos.Algoritmo.RADIX);
+			for (int i = 0; i < orden.length && solucion.size() < estaciones.size() - 1; i++) {
+				int t = OrdenamientoArcos.indice(orden[i]);
+				procesar(unionFind, solucion, t, origenes[t], destinos[t], etiquetas[t]);
+			}
+			return solucion;
+		}
+
+		if (cantidadBloque > 0) {
+			volcarBloque();
+		}
+		liberarBloque();
+
+		while (corridas.size() > CORRIDAS_POR_MEZCLA) {
+			List<File> grupo = new ArrayList<>(corridas.subList(0, CORRIDAS_POR_MEZCLA));
+			corridas.subList(0, CORRIDAS_POR_MEZCLA).clear();
+			corridas.add(mezclarEnCorrida(grupo));
+		}
+
+		List<LectorCorrida> lectores = abrir(corridas);
+		try {
+			PriorityQueue<LectorCorrida> fila = new PriorityQueue<>(lectores);
+			while (!fila.isEmpty() && solucion.size() < estaciones.size() - 1) {
+				LectorCorrida lector = fila.poll();
+				procesar(unionFind, solucion, OrdenamientoArcos.indice(lector.clave), lector.origen, lector.destino,
+						OrdenamientoArcos.etiqueta(lector.clave));
+				if (lector.avanzar()) {
+					fila.add(lector);
+				}
+			}
+		} finally {
+			cerrar(lectores);
+		}
+		return solucion;
+	}
+
+	/**
+	 * Agrega el tunel a la solucion si une dos componentes distintas. Si se busco
+	 * sobre una lista, se agrega el arco de la lista que esta en la posicion del
+	 * tunel; si se leyo de un archivo, se crea el arco.
+	 */
+	private void procesar(UnionFindSecuencial unionFind, List<Arco<Integer>> solucion, int posicion, int origen,
+			int destino, int km) {
+		sumarMetrica();
+		if (unionFind.union(origen, destino)) {
+			if (candidatos != null) {
+				solucion.add(candidatos.get(posicion));
+			} else {
+				solucion.add(new Arco<Integer>(estaciones.get(origen), estaciones.get(destino), km));
+			}
+			this.kms += km;
+		}
+	}
+
+	/**
+	 * Mezcla un grupo de corridas en una nueva corrida y borra las del grupo. Las
+	 * corridas del grupo ya no estan en la lista de corridas, asi que se borran
+	 * aunque la mezcla falle, y en ese caso tambien se borra la nueva.
+	 */
+	private File mezclarEnCorrida(List<File> grupo) throws IOException {
+		File corrida = null;
+		boolean completa = false;
+		try {
+			corrida = File.createTempFile("kruskal", ".corrida", directorio);
+			List<LectorCorrida> lectores = abrir(grupo);
+			try (DataOutputStream salida = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(corrida), 1 << 16))) {
+				PriorityQueue<LectorCorrida> fila = new PriorityQueue<>(lectores);
+				while (!fila.isEmpty()) {
+					LectorCorrida lector = fila.poll();
+					salida.writeLong(lector.clave);
+					salida.writeInt(lector.origen);
+					salida.writeInt(lector.destino);
+					if (lector.avanzar()) {
+						fila.add(lector);
+					}
+				}
+			} finally {
+				cerrar(lectores);
+			}
+			completa = true;
+			return corrida;
+		} finally {
+			for (File archivo : grupo) {
+				archivo.delete();
+			}
+			if (!completa && corrida != null) {
+				corrida.delete();
+			}
+		}
+	}
+
+	/**
+	 * Abre las corridas y deja las que no estan vacias posicionadas en su primer
+	 * tunel.
+	 */
+	private List<LectorCorrida> abrir(List<File> archivos) throws IOException {
+		List<LectorCorrida> lectores = new ArrayList<>();
+		try {
+			for (File archivo : archivos) {
+				LectorCorrida lector = new LectorCorrida(archivo);
+				if (lector.avanzar()) {
+					lectores.add(lector);
+				} else {
+					lector.cerrar();
+				}
+			}
+		} catch (IOException e) {
+			try {
+				cerrar(lectores);
+			} catch (UncheckedIOException c) {
+				e.addSuppressed(c.getCause());
+			}
+			throw e;
+		}
+		return lectores;
+	}
+
+	/**
+	 * Cierra todos los lectores. Si alguno falla, se intenta cerrar el resto y se
+	 * lanza el primer error.
+	 */
+	private void cerrar(List<LectorCorrida> lectores) {
+		IOException error = null;
+		for (LectorCorrida lector : lectores) {
+			try {
+				lector.cerrar();
+			} catch (IOException e) {
+				if (error == null) {
+					error = e;
+				} else {
+					error.addSuppressed(e);
+				}
+			}
+		}
+		if (error != null) {
+			throw new UncheckedIOException(error);
+		}
+	}
+
+	private void liberarBloque() {
+		this.origenes = null;
+		this.destinos = null;
+		this.etiquetas = null;
+	}
+
+	private void borrarCorridas() {
+		if (corridas != null) {
+			for (File corrida : corridas) {
+				corrida.delete();
+			}
+			corridas = null;
+		}
+		indices = null;
+		candidatos = null;
+		liberarBloque();
+	}
+
+	/**
+	 * Lector secuencial de una corrida, posicionado en su tunel actual.
+	 */
+	private static class LectorCorrida implements Comparable<LectorCorrida> {
+		private DataInputStream entrada;
+		private long clave;
+		private int origen;
+		private int destino;
+
+		LectorCorrida(File archivo) throws IOException {
+			this.entrada = new DataInputStream(new BufferedInputStream(new FileInputStream(archivo), 1 << 16));
+		}
+
+		/**
+		 * Lee el siguiente tunel. Devuelve false si la corrida se termino.
+		 */
+		boolean avanzar() throws IOException {
+			try {
+				clave = entrada.readLong();
+			} catch (EOFException e) {
+				return false;
+			}
+			origen = entrada.readInt();
+			destino = entrada.readInt();
+			return true;
+		}
+
+		void cerrar() throws IOException {
+			entrada.close();
+		}
+
+		@Override
+		public int compareTo(LectorCorrida otro) {
+			return Long.compare(clave, otro.clave);
+		}
+	}
+}
@@ -0,0 +1,215 @@
+package entrega2.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import entrega2.model.ArcosPrimitivos;
+import entrega2.model.grafo.Arco;
+import entrega2.util.OrdenamientoArcos;
+import entrega2.util.UnionFindSecuencial;
+
+/**
+ * Clase que implementa el algoritmo de Kruskal sobre arreglos primitivos. Da el
+ * mismo resultado que {@link Greedy}, pero ordena claves primitivas en lugar de
+ * objetos, recorre los tuneles con un cursor en lugar de quitarlos de la lista
+ * y usa indices densos de estaciones en lugar de buscarlas en una lista.
+ */
+public class KruskalPrimitivo extends Resolutor {
+
+	/**
+	 * Forma de ordenar los tuneles antes de recorrerlos.
+	 */
+	public enum Ordenamiento {
+		/** Ordenamiento por comparacion de las claves primitivas. */
+		COMPARACION,
+		/** Radix sort LSD sobre los kilometros. */
+		RADIX,
+		/** Ordenamiento por comparacion en paralelo. */
+		PARALELO,
+		/** Filter-Kruskal: particiona y descarta tuneles internos antes de ordenarlos. */
+		FILTRO
+	}
+
+	/**
+	 * Tamanio de rango a partir del cual Filter-Kruskal deja de particionar.
+	 */
+	private static final int UMBRAL_FILTRO = 1024;
+
+	private Ordenamiento ordenamiento;
+
+	// Estado de la busqueda en curso
+	private int[] origenes;
+	private int[] destinos;
+	private int[] etiquetas;
+	private UnionFindSecuencial unionFind;
+	private int[] elegidos;
+	private int cantidadElegidos;
+
+	/**
+	 * Constructor de la clase KruskalPrimitivo, que ordena por comparacion.
+	 */
+	public KruskalPrimitivo() {
+		this(Ordenamiento.COMPARACION);
+	}
+
+	/**
+	 * Constructor de la clase KruskalPrimitivo.
+	 *
+	 * @param ordenamiento Forma de ordenar los tuneles.
+	 */
+	public KruskalPrimitivo(Ordenamiento ordenamiento) {
+		this.estaciones = new ArrayList<>();
+		this.kms = 0;
+		this.metrica = 0;
+		this.nombre = ordenamiento == Ordenamiento.COMPARACION ? "Kruskal Primitivo"
+				: "Kruskal Primitivo (" + ordenamiento + ")";
+		this.ordenamiento = ordenamiento;
+	}
+
+	/**
+	 * Implementacion del algoritmo de Kruskal para buscar la solucion. La lista de
+	 * candidatos no se modifica.
+	 *
+	 * Complejidad: O(N log N), donde N es la cantidad de tuneles.
+	 *
+	 * @param candidatos Lista de arcos candidatos.
+	 * @return Lista de arcos que representan la solucion.
+	 */
+	@Override
+	public List<Arco<Integer>> buscarSolucion(List<Arco<Integer>> candidatos) {
+		reiniciar();
+		ArcosPrimitivos arcos = traducirCandidatos(candidatos);
+
+		int[] elegidos = resolver(arcos);
+
+		List<Arco<Integer>> solucion = new ArrayList<>(elegidos.length);
+		for (int indice : elegidos) {
+			solucion.add(candidatos.get(indice));
+		}
+		return solucion;
+	}
+
+	/**
+	 * Aplica el algoritmo de Kruskal sobre los arcos primitivos. Los kilometros y
+	 * la metrica quedan disponibles en {@link #getKms()} y {@link #getMetrica()}.
+	 *
+	 * Complejidad: O(N log N), donde N es la cantidad de tuneles (O(N) con radix
+	 * sort si los kilometros estan acotados).
+	 *
+	 * @param arcos Arcos en arreglos primitivos.
+	 * @return Indices de los tuneles elegidos, en el orden en que se eligieron.
+	 */
+	public int[] resolver(ArcosPrimitivos arcos) {
+		this.kms = 0;
+		this.metrica = 0;
+		int cantEstaciones = arcos.getCantidadEstaciones();
+		if (cantEstaciones == 0) {
+			return new int[0];
+		}
+
+		this.origenes = arcos.getOrigenes();
+		this.destinos = arcos.getDestinos();
+		this.etiquetas = arcos.getEtiquetas();
+		this.unionFind = new UnionFindSecuencial(cantEstaciones);
+		this.elegidos = new int[cantEstaciones - 1];
+		this.cantidadElegidos = 0;
+
+		if (this.ordenamiento == Ordenamiento.FILTRO) {
+			long[] claves = OrdenamientoArcos.claves(this.etiquetas, arcos.getCantidad());
+			filtroKruskal(claves, 0, claves.length);
+		} else {
+			long[] claves = OrdenamientoArcos.ordenar(this.etiquetas, arcos.getCantidad(), algoritmo());
+			procesar(claves, 0, claves.length);
+		}
+
+		return Arrays.copyOf(this.elegidos, this.cantidadElegidos);
+	}
+
+	/**
+	 * Recorre con un cursor un rango de claves ya ordenadas y elige los tuneles que
+	 * unen componentes distintas, hasta tener V - 1 tuneles.
+	 *
+	 * @param claves Claves ordenadas.
+	 * @param desde  Inicio del rango (inclusivo).
+	 * @param hasta  Fin del rango (exclusivo).
+	 */
+	private void procesar(long[] claves, int desde, int hasta) {
+		int objetivo = this.elegidos.length;
+
+		for (int cursor = desde; cursor < hasta && this.cantidadElegidos < objetivo; cursor++) {
+			int indice = OrdenamientoArcos.indice(claves[cursor]);
+			sumarMetrica();
+
+			if (this.unionFind.union(this.origenes[indice], this.destinos[indice])) {
+				this.elegidos[this.cantidadElegidos++] = indice;
+				this.kms += this.etiquetas[indice];
+			}
+		}
+	}
+
+	/**
+	 * Filter-Kruskal: particiona el rango alrededor de un pivote, resuelve primero
+	 * los tuneles mas cortos y, antes de ordenar los mas largos, descarta los que ya
+	 * unen estaciones de una misma componente. Los rangos chicos se ordenan y se
+	 * procesan directamente.
+	 *
+	 * Complejidad: O(N log N) en el peor caso, pero en redes densas la mayoria de
+	 * los tuneles largos se descartan sin ordenarse.
+	 *
+	 * @param claves Claves sin ordenar.
+	 * @param desde  Inicio del rango (inclusivo).
+	 * @param hasta  Fin del rango (exclusivo).
+	 */
+	private void filtroKruskal(long[] claves, int desde, int hasta) {
+		if (this.cantidadElegidos == this.elegidos.length || desde >= hasta) {
+			return;
+		}
+
+		if (hasta - desde <= UMBRAL_FILTRO) {
+			Arrays.sort(claves, desde, hasta);
+			procesar(claves, desde, hasta);
+			return;
+		}
+
+		// Las claves son distintas entre si (incluyen el indice), asi que con la
+		// mediana de tres ambos lados de la particion quedan no vacios
+		long pivote = medianaDeTres(claves[desde], claves[(desde + hasta) >>> 1], claves[hasta - 1]);
+		int medio = desde;
+		for (int i = desde; i < hasta; i++) {
+			if (claves[i] <= pivote) {
+				long t = claves[i];
+				claves[i] = claves[medio];
+				claves[medio++] = t;
+			}
+		}
+
+		filtroKruskal(claves, desde, medio);
+
+		// Descartar los tuneles largos que ya quedaron dentro de una componente
+		int fin = medio;
+		for (int i = medio; i < hasta; i++) {
+			int indice = OrdenamientoArcos.indice(claves[i]);
+			if (!this.unionFind.connected(this.origenes[indice], this.destinos[indice])) {
+				claves[fin++] = claves[i];
+			}
+		}
+
+		filtroKruskal(claves, medio, fin);
+	}
+
+	private static long medianaDeTres(long a, long b, long c) {
+		return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+	}
+
+	private OrdenamientoArcos.Algoritmo algoritmo() {
+		switch (this.ordenamiento) {
+		case RADIX:
+			return OrdenamientoArcos.Algoritmo.RADIX;
+		case PARALELO:
+			return OrdenamientoArcos.Algoritmo.PARALELO;
+		default:
+			return OrdenamientoArcos.Algoritmo.COMPARACION;
+		}
+	}
+}
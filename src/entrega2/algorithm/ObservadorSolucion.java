@@ -0,0 +1,20 @@
+package entrega2.algorithm;
+
+import java.util.List;
+
+import entrega2.model.grafo.Arco;
+
+/**
+ * Interfaz para recibir el progreso de un resolutor cada vez que encuentra una
+ * solucion mejor que la anterior.
+ */
+public interface ObservadorSolucion {
+
+	/**
+	 * Se invoca cada vez que el resolutor mejora la mejor solucion encontrada.
+	 *
+	 * @param solucion Copia de la nueva mejor solucion.
+	 * @param kms      Kilometros totales de la nueva mejor solucion.
+	 */
+	public void mejoraSolucion(List<Arco<Integer>> solucion, int kms);
+}
@@ -0,0 +1,297 @@
+package entrega2.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import entrega2.model.ArcosPrimitivos;
+import entrega2.model.grafo.Arco;
+import entrega2.util.HeapIndexado;
+
+/**
+ * Clase que implementa el algoritmo de Prim para resolver el problema. Tiene dos
+ * variantes:
+ * <ul>
+ * <li>Densa: matriz V x V con el tunel mas corto entre cada par de estaciones y
+ * busqueda lineal del minimo, O(V^2).
+ * Conviene cuando casi todo par de estaciones tiene un tunel, porque no ordena
+ * los E ~ V^2 tuneles.</li>
+ * <li>Heap: listas de adyacencia y un heap binario indexado, O(E log V). Conviene
+ * en redes dispersas.</li>
+ * </ul>
+ * En modo automatico la variante se elige segun la densidad medida de la red.
+ * Si la red no es conexa se devuelve un bosque, igual que {@link Greedy}.
+ */
+public class Prim extends Resolutor {
+
+	/**
+	 * Variante del algoritmo de Prim.
+	 */
+	public enum Variante {
+		AUTOMATICA, DENSA, HEAP
+	}
+
+	/**
+	 * Densidad a partir de la cual la variante automatica usa la matriz densa.
+	 */
+	public static final double DENSIDAD_UMBRAL = 0.25;
+
+	/**
+	 * Fraccion de la memoria maxima de la JVM que puede ocupar la matriz de la
+	 * variante densa.
+	 */
+	public static final double FRACCION_MEMORIA_DENSA = 0.25;
+
+	private Variante variante;
+	private Variante varianteUsada;
+
+	/**
+	 * Constructor de la clase Prim, que elige la variante segun la densidad.
+	 */
+	public Prim() {
+		this(Variante.AUTOMATICA);
+	}
+
+	/**
+	 * Constructor de la clase Prim.
+	 *
+	 * @param variante Variante a utilizar.
+	 */
+	public Prim(Variante variante) {
+		this.estaciones = new ArrayList<>();
+		this.kms = 0;
+		this.metrica = 0;
+		this.nombre = "Prim";
+		this.variante = variante;
+	}
+
+	/**
+	 * Implementacion del algoritmo de Prim para buscar la solucion. La lista de
+	 * candidatos no se modifica.
+	 *
+	 * @param candidatos Lista de arcos candidatos.
+	 * @return Lista de arcos que representan la solucion.
+	 */
+	@Override
+	public List<Arco<Integer>> buscarSolucion(List<Arco<Integer>> candidatos) {
+		reiniciar();
+		ArcosPrimitivos arcos = traducirCandidatos(candidatos);
+
+		int[] elegidos = resolver(arcos);
+
+		List<Arco<Integer>> solucion = new ArrayList<>(elegidos.length);
+		for (int indice : elegidos) {
+			solucion.add(candidatos.get(indice));
+		}
+		return solucion;
+	}
+
+	/**
+	 * Aplica el algoritmo de Prim sobre los arcos primitivos. La metrica cuenta las
+	 * estaciones incorporadas al arbol.
+	 *
+	 * @param arcos Arcos en arreglos primitivos.
+	 * @return Indices de los tuneles elegidos, en el orden en que se eligieron.
+	 */
+	public int[] resolver(ArcosPrimitivos arcos) {
+		this.kms = 0;
+		this.metrica = 0;
+		if (arcos.getCantidadEstaciones() == 0) {
+			return new int[0];
+		}
+
+		int maxEstacionesDensa = maxEstacionesDensa();
+		this.varianteUsada = this.variante;
+		if (this.variante == Variante.AUTOMATICA) {
+			boolean densa = densidad(arcos) >= DENSIDAD_UMBRAL
+					&& arcos.getCantidadEstaciones() <= maxEstacionesDensa;
+			this.varianteUsada = densa ? Variante.DENSA : Variante.HEAP;
+		}
+
+		if (this.varianteUsada == Variante.DENSA && arcos.getCantidadEstaciones() > maxEstacionesDensa)
+			throw new IllegalArgumentException("Too many stations for the dense variant");
+
+		return this.varianteUsada == Variante.DENSA ? resolverDenso(arcos) : resolverHeap(arcos);
+	}
+
+	/**
+	 * Obtiene la variante utilizada en la ultima busqueda.
+	 *
+	 * @return La variante utilizada, o null si todavia no se busco una solucion.
+	 */
+	public Variante getVarianteUsada() {
+		return varianteUsada;
+	}
+
+	/**
+	 * Agrega al nombre la variante pedida, que cambia la metrica.
+	 */
+	@Override
+	public String getConfiguracion() {
+		return getNombreResolutor() + " [variante=" + variante + "]";
+	}
+
+	/**
+	 * Calcula la cantidad maxima de estaciones para la variante densa, cuya matriz
+	 * de V x V enteros tiene que entrar en {@link #FRACCION_MEMORIA_DENSA} de la
+	 * memoria maxima de la JVM.
+	 *
+	 * @return Cantidad maxima de estaciones.
+	 */
+	public static int maxEstacionesDensa() {
+		long bytes = (long) (Runtime.getRuntime().maxMemory() * FRACCION_MEMORIA_DENSA);
+		long maximo = (long) Math.sqrt(bytes / Integer.BYTES);
+		// V * V tambien tiene que entrar en un int como largo de arreglo
+		return (int) Math.min(maximo, (long) Math.sqrt(Integer.MAX_VALUE));
+	}
+
+	/**
+	 * Calcula la densidad de la red: la cantidad de tuneles sobre la cantidad de
+	 * pares de estaciones distintos, V * (V - 1) / 2.
+	 *
+	 * @param arcos Arcos en arreglos primitivos.
+	 * @return Densidad de la red (puede superar 1 si hay tuneles repetidos).
+	 */
+	public static double densidad(ArcosPrimitivos arcos) {
+		long v = arcos.getCantidadEstaciones();
+		if (v < 2) {
+			return 1.0;
+		}
+		return arcos.getCantidad() / (v * (v - 1) / 2.0);
+	}
+
+	/**
+	 * Variante densa: arma una matriz V x V con el tunel mas corto entre cada par
+	 * de estaciones y en cada paso busca linealmente la estacion mas cercana al
+	 * arbol.
+	 *
+	 * Complejidad: O(V^2 + N), donde V es la cantidad de estaciones y N la cantidad
+	 * de tuneles. Memoria: O(V^2).
+	 */
+	private int[] resolverDenso(ArcosPrimitivos arcos) {
+		int v = arcos.getCantidadEstaciones();
+		int[] origenes = arcos.getOrigenes();
+		int[] destinos = arcos.getDestinos();
+		int[] etiquetas = arcos.getEtiquetas();
+
+		// arcoMatriz[a * v + b] = indice del tunel mas corto entre a y b, o -1; sus
+		// km se leen de etiquetas
+		int[] arcoMatriz = new int[v * v];
+		Arrays.fill(arcoMatriz, -1);
+		for (int i = 0; i < arcos.getCantidad(); i++) {
+			int a = origenes[i];
+			int b = destinos[i];
+			int actual = arcoMatriz[a * v + b];
+			if (a != b && (actual == -1 || etiquetas[i] < etiquetas[actual])) {
+				arcoMatriz[a * v + b] = arcoMatriz[b * v + a] = i;
+			}
+		}
+
+		boolean[] enArbol = new boolean[v];
+		int[] clave = new int[v];
+		int[] via = new int[v];
+		Arrays.fill(clave, Integer.MAX_VALUE);
+		Arrays.fill(via, -1);
+
+		int[] elegidos = new int[v - 1];
+		int cantidadElegidos = 0;
+
+		for (int paso = 0; paso < v; paso++) {
+			// Buscar la estacion fuera del arbol mas cercana. Si ninguna es alcanzable,
+			// se empieza un nuevo arbol del bosque.
+			int u = -1;
+			for (int w = 0; w < v; w++) {
+				if (!enArbol[w] && (u == -1 || (via[w] != -1 && (via[u] == -1 || clave[w] < clave[u])))) {
+					u = w;
+				}
+			}
+
+			enArbol[u] = true;
+			sumarMetrica();
+			if (via[u] != -1) {
+				elegidos[cantidadElegidos++] = via[u];
+				this.kms += etiquetas[via[u]];
+			}
+
+			// Actualizar la distancia al arbol de las estaciones restantes
+			int fila = u * v;
+			for (int w = 0; w < v; w++) {
+				int arco = arcoMatriz[fila + w];
+				if (!enArbol[w] && arco != -1 && (via[w] == -1 || etiquetas[arco] < clave[w])) {
+					clave[w] = etiquetas[arco];
+					via[w] = arco;
+				}
+			}
+		}
+
+		return Arrays.copyOf(elegidos, cantidadElegidos);
+	}
+
+	/**
+	 * Variante con heap: arma listas de adyacencia en arreglos y mantiene las
+	 * estaciones fuera del arbol en un heap indexado por su distancia al arbol.
+	 *
+	 * Complejidad: O(N log V + V), donde V es la cantidad de estaciones y N la
+	 * cantidad de tuneles.
+	 */
+	private int[] resolverHeap(ArcosPrimitivos arcos) {
+		int v = arcos.getCantidadEstaciones();
+		int n = arcos.getCantidad();
+		int[] origenes = arcos.getOrigenes();
+		int[] destinos = arcos.getDestinos();
+		int[] etiquetas = arcos.getEtiquetas();
+
+		// Listas de adyacencia compactas: los tuneles de la estacion a ocupan
+		// adyacentes[inicio[a]] .. adyacentes[inicio[a + 1] - 1]
+		int[] inicio = new int[v + 1];
+		for (int i = 0; i < n; i++) {
+			inicio[origenes[i] + 1]++;
+			inicio[destinos[i] + 1]++;
+		}
+		for (int a = 0; a < v; a++) {
+			inicio[a + 1] += inicio[a];
+		}
+		int[] adyacentes = new int[2 * n];
+		int[] siguiente = Arrays.copyOf(inicio, v);
+		for (int i = 0; i < n; i++) {
+			adyacentes[siguiente[origenes[i]]++] = i;
+			adyacentes[siguiente[destinos[i]]++] = i;
+		}
+
+		boolean[] enArbol = new boolean[v];
+		int[] via = new int[v];
+		Arrays.fill(via, -1);
+		HeapIndexado heap = new HeapIndexado(v);
+
+		int[] elegidos = new int[v - 1];
+		int cantidadElegidos = 0;
+
+		for (int raiz = 0; raiz < v; raiz++) {
+			if (enArbol[raiz]) {
+				continue;
+			}
+
+			// Cada estacion no alcanzada inicia un nuevo arbol del bosque
+			heap.insertOrDecrease(raiz, Integer.MIN_VALUE);
+			while (!heap.isEmpty()) {
+				int u = heap.extractMin();
+				enArbol[u] = true;
+				sumarMetrica();
+				if (via[u] != -1) {
+					elegidos[cantidadElegidos++] = via[u];
+					this.kms += etiquetas[via[u]];
+				}
+
+				for (int k = inicio[u]; k < inicio[u + 1]; k++) {
+					int arco = adyacentes[k];
+					int w = origenes[arco] == u ? destinos[arco] : origenes[arco];
+					if (!enArbol[w] && heap.insertOrDecrease(w, etiquetas[arco])) {
+						via[w] = arco;
+					}
+				}
+			}
+		}
+
+		return Arrays.copyOf(elegidos, cantidadElegidos);
+	}
+}
@@ -3,17 +3,27 @@ package entrega2.algorithm;
 import java.util.ArrayList;
 import java.util.List;
 
+import entrega2.model.ArcosPrimitivos;
+import entrega2.model.Solucion;
 import entrega2.model.grafo.Arco;
+import entrega2.util.IndiceEstaciones;
 import entrega2.util.Timer;
 
 /**
  * Clase abstracta que representa un resolutor de problemas.
+ *
+ * {@link #buscarSolucion(List)} guarda el estado de la busqueda en el propio
+ * resolutor, por lo que una instancia no puede usarse desde varios hilos a la
+ * vez. {@link #resolver(List)} en cambio trabaja sobre una copia del resolutor y
+ * de los candidatos, y devuelve un resultado inmutable.
  */
-public abstract class Resolutor {
+public abstract class Resolutor implements Cloneable {
     protected List<Integer> estaciones = new ArrayList<>();
+    protected IndiceEstaciones indiceEstaciones = new IndiceEstaciones(); // Posicion de cada estacion en la lista de estaciones.
     protected int metrica;
     protected int kms;
     protected String nombre; // Corresponde al nombre del resolutor, Greedy o Backtracking.
+    protected Instrumentacion instrumentacion; // Registro detallado de la busqueda, opcional.
 
     /**
      * Constructor de la clase Resolutor.
@@ -32,6 +42,76 @@ public abstract class Resolutor {
      */
     public abstract List<Arco<Integer>> buscarSolucion(List<Arco<Integer>> candidatos);
 
+    /**
+     * Resuelve el problema sin modificar la lista de candidatos ni el estado de
+     * este resolutor: la busqueda se hace sobre una copia reiniciada del resolutor
+     * (ver {@link #nuevaInstancia()}). Puede llamarse en forma concurrente sobre
+     * la misma instancia, siempre que no se cambie su configuracion mientras tanto.
+     *
+     * @param candidatos Lista de arcos candidatos.
+     * @return Solucion con los arcos, los kilometros, la metrica y el tiempo.
+     */
+    public Solucion resolver(List<Arco<Integer>> candidatos) {
+        Resolutor copia = nuevaInstancia();
+        List<Arco<Integer>> entrada = new ArrayList<>(candidatos);
+
+        Timer timer = new Timer();
+        timer.start();
+        List<Arco<Integer>> arcos = copia.buscarSolucion(entrada);
+        double tiempo = timer.stop();
+
+        return new Solucion(arcos, copia.getKms(), copia.getMetrica(), tiempo, copia.getNombreResolutor());
+    }
+
+    /**
+     * Crea una copia de este resolutor, con la misma configuracion y sin estado de
+     * busquedas anteriores. Las subclases que delegan en otros resolutores deben
+     * sobrescribirlo para copiarlos tambien.
+     *
+     * @return Copia reiniciada del resolutor.
+     */
+    protected Resolutor nuevaInstancia() {
+        try {
+            Resolutor copia = (Resolutor) super.clone();
+            copia.reiniciar();
+            return copia;
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Descarta el estado de la busqueda anterior. Se llama al comienzo de cada
+     * busqueda; las subclases con estado propio deben sobrescribirlo y llamar a
+     * este metodo.
+     */
+    protected void reiniciar() {
+        this.estaciones = new ArrayList<>();
+        this.indiceEstaciones = new IndiceEstaciones();
+        this.kms = 0;
+        this.metrica = 0;
+    }
+
+    /**
+     * Establece la instrumentacion en la que el resolutor registra el detalle de
+     * sus busquedas. Las copias creadas por {@link #resolver(List)} registran en la
+     * misma instrumentacion.
+     *
+     * @param instrumentacion Instrumentacion a utilizar, o null para ninguna.
+     */
+    public void setInstrumentacion(Instrumentacion instrumentacion) {
+        this.instrumentacion = instrumentacion;
+    }
+
+    /**
+     * Obtiene la instrumentacion del resolutor.
+     *
+     * @return La instrumentacion, o null si no tiene.
+     */
+    public Instrumentacion getInstrumentacion() {
+        return instrumentacion;
+    }
+
     /**
      * Obtiene la lista de estaciones.
      *
@@ -121,6 +201,30 @@ public abstract class Resolutor {
         return nombre;
     }
 
+    /**
+     * Identifica el algoritmo junto con la configuracion que cambia su resultado o
+     * su metrica. Dos resolutores con la misma configuracion dan la misma solucion
+     * para la misma red, asi que sirve como identificador en
+     * {@link CacheSoluciones}. Por defecto es el nombre del resolutor; las
+     * subclases configurables agregan sus parametros.
+     *
+     * @return Identificador del algoritmo y su configuracion.
+     */
+    public String getConfiguracion() {
+        return getNombreResolutor();
+    }
+
+    /**
+     * Indica si la ultima solucion encontrada es optima, es decir, si la busqueda
+     * no fue interrumpida por un limite. Por defecto es true; los resolutores que
+     * pueden detenerse antes de terminar lo redefinen.
+     *
+     * @return true si la solucion esta probada como optima.
+     */
+    public boolean esOptima() {
+        return true;
+    }
+
     /**
      * Incrementa el valor de la mtrica en 1.
      */
@@ -129,20 +233,69 @@ public abstract class Resolutor {
     }
 
     /**
-     * Popula la lista de estaciones a partir de una lista de arcos.
+     * Popula la lista de estaciones a partir de una lista de arcos, y arma el
+     * indice que da la posicion de cada estacion en esa lista (ver
+     * {@link #indiceEstacion(int)}).
+     *
+     * Complejidad: O(N), donde N es la cantidad de arcos.
      *
      * @param arcos      Lista de arcos.
      * @param estaciones Lista de estaciones.
      */
     protected void popularEstaciones(List<Arco<Integer>> arcos, List<Integer> estaciones) {
+        // Se indexan primero las estaciones que ya estaban en la lista
+        IndiceEstaciones indice = new IndiceEstaciones(estaciones.size());
+        for (int estacion : estaciones) {
+            indice.agregar(estacion);
+        }
+
         for (Arco<Integer> arco : arcos) {
-            if (!estaciones.contains(arco.getVerticeOrigen())) {
+            if (indice.agregar(arco.getVerticeOrigen()) == estaciones.size()) {
                 estaciones.add(arco.getVerticeOrigen());
             }
-            if (!estaciones.contains(arco.getVerticeDestino())) {
+            if (indice.agregar(arco.getVerticeDestino()) == estaciones.size()) {
                 estaciones.add(arco.getVerticeDestino());
             }
         }
+        this.indiceEstaciones = indice;
+    }
+
+    /**
+     * Traduce los candidatos a indices densos una sola vez, al entrar al
+     * resolutor: popula la lista de estaciones y el indice de estaciones, y
+     * devuelve los tuneles en arreglos primitivos cuyos origenes y destinos son
+     * posiciones en la lista de estaciones. Asi los algoritmos no buscan estaciones
+     * mientras recorren los candidatos.
+     *
+     * Complejidad: O(N), donde N es la cantidad de arcos.
+     *
+     * @param candidatos Lista de arcos candidatos.
+     * @return Los candidatos en arreglos primitivos, en el mismo orden que la lista.
+     */
+    protected ArcosPrimitivos traducirCandidatos(List<Arco<Integer>> candidatos) {
+        ArcosPrimitivos arcos = ArcosPrimitivos.desde(candidatos);
+
+        this.estaciones = new ArrayList<>(arcos.getCantidadEstaciones());
+        for (int i = 0; i < arcos.getCantidadEstaciones(); i++) {
+            this.estaciones.add(arcos.getEstacion(i));
+        }
+        this.indiceEstaciones = arcos.getIndiceEstaciones();
+
+        return arcos;
+    }
+
+    /**
+     * Obtiene la posicion de una estacion en la lista de estaciones, sin
+     * recorrerla. Requiere haber llamado a
+     * {@link #popularEstaciones(List, List)}.
+     *
+     * Complejidad: O(1)
+     *
+     * @param estacion Identificador de la estacion.
+     * @return Posicion de la estacion, o -1 si no esta en la lista.
+     */
+    protected int indiceEstacion(int estacion) {
+        return indiceEstaciones.indice(estacion);
     }
     
     
@@ -0,0 +1,196 @@
+package entrega2.algorithm;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import entrega2.model.Solucion;
+import entrega2.model.grafo.Arco;
+import entrega2.util.Timer;
+
+/**
+ * Resolutor que consulta una {@link CacheSoluciones} antes de delegar en otro
+ * resolutor. Si la red ya se resolvio con el mismo algoritmo devuelve la
+ * solucion guardada, con sus kilometros y su metrica, sin volver a buscarla; si
+ * no, la busca con el resolutor delegado y la guarda.
+ *
+ * Los tuneles de la solucion guardada se traducen a los de la lista recibida,
+ * asi que siempre se devuelven arcos de la entrada aunque esta tenga otro orden o
+ * los tuneles en otro sentido que la red con la que se guardo.
+ *
+ * Las soluciones que no estan probadas como optimas ({@link Resolutor#esOptima()}),
+ * por ejemplo las de un {@link Backtracking} que se detuvo por un limite de
+ * tiempo o de nodos, no se guardan.
+ */
+public class ResolutorCacheado extends Resolutor {
+
+	private Resolutor resolutor;
+	private CacheSoluciones cache;
+	private String algoritmo;
+	private boolean acierto;
+
+	/**
+	 * Constructor de la clase ResolutorCacheado. El algoritmo se identifica con la
+	 * configuracion del resolutor delegado ({@link Resolutor#getConfiguracion()}),
+	 * que se toma en cada busqueda, asi que tambien cubre los cambios de
+	 * configuracion posteriores.
+	 *
+	 * @param resolutor Resolutor que se usa cuando la solucion no esta guardada.
+	 * @param cache     Cache de soluciones, que puede compartirse entre resolutores.
+	 */
+	public ResolutorCacheado(Resolutor resolutor, CacheSoluciones cache) {
+		this(resolutor, cache, null);
+	}
+
+	/**
+	 * Constructor de la clase ResolutorCacheado con un identificador de algoritmo
+	 * explicito, por ejemplo para compartir soluciones entre resolutores distintos
+	 * que dan el mismo resultado.
+	 *
+	 * @param resolutor Resolutor que se usa cuando la solucion no esta guardada.
+	 * @param cache     Cache de soluciones, que puede compartirse entre resolutores.
+	 * @param algoritmo Identificador del algoritmo y su configuracion, o null para
+	 *                  usar la configuracion del resolutor delegado.
+	 */
+	public ResolutorCacheado(Resolutor resolutor, CacheSoluciones cache, String algoritmo) {
+		this.estaciones = new ArrayList<>();
+		this.kms = 0;
+		this.metrica = 0;
+		this.nombre = resolutor.getNombreResolutor() + " (Cacheado)";
+		this.resolutor = resolutor;
+		this.cache = cache;
+		this.algoritmo = algoritmo;
+	}
+
+	/**
+	 * Busca la solucion en la cache y, si no esta, la busca con el resolutor
+	 * delegado y la guarda.
+	 *
+	 * @param candidatos Lista de arcos candidatos.
+	 * @return Lista de arcos que representan la solucion.
+	 */
+	@Override
+	public List<Arco<Integer>> buscarSolucion(List<Arco<Integer>> candidatos) {
+		reiniciar();
+		this.popularEstaciones(candidatos, estaciones);
+
+		String clave = CacheSoluciones.clave(candidatos, algoritmo != null ? algoritmo : resolutor.getConfiguracion());
+		Solucion guardada = cache.obtener(clave);
+		if (guardada != null) {
+			this.acierto = true;
+			this.kms = guardada.getKms();
+			this.metrica = guardada.getMetrica();
+			return traducir(guardada.getArcos(), candidatos);
+		}
+
+		Timer timer = new Timer();
+		timer.start();
+		List<Arco<Integer>> solucion = resolutor.buscarSolucion(new ArrayList<>(candidatos));
+		double tiempo = timer.stop();
+
+		this.kms = resolutor.getKms();
+		this.metrica = resolutor.getMetrica();
+		if (resolutor.esOptima()) {
+			cache.guardar(clave, new Solucion(solucion, kms, metrica, tiempo, resolutor.getNombreResolutor()));
+		}
+		return solucion;
+	}
+
+	/**
+	 * Reemplaza cada tunel de la solucion guardada por un tunel de los candidatos
+	 * con las mismas estaciones y kilometros. Como la clave es la misma, los
+	 * candidatos tienen los mismos tuneles que la red con la que se guardo.
+	 *
+	 * Complejidad: O(N), donde N es la cantidad de candidatos.
+	 */
+	private List<Arco<Integer>> traducir(List<Arco<Integer>> guardados, List<Arco<Integer>> candidatos) {
+		Map<Tunel, ArrayDeque<Arco<Integer>>> porTunel = new HashMap<>();
+		for (Arco<Integer> candidato : candidatos) {
+			porTunel.computeIfAbsent(new Tunel(candidato), t -> new ArrayDeque<>()).add(candidato);
+		}
+
+		List<Arco<Integer>> solucion = new ArrayList<>(guardados.size());
+		for (Arco<Integer> guardado : guardados) {
+			ArrayDeque<Arco<Integer>> iguales = porTunel.get(new Tunel(guardado));
+			if (iguales == null || iguales.isEmpty())
+				throw new IllegalStateException("La solucion guardada no corresponde a los candidatos");
+			solucion.add(iguales.poll());
+		}
+		return solucion;
+	}
+
+	/**
+	 * Copia tambien el resolutor delegado, para que las copias no lo compartan. La
+	 * cache si se comparte.
+	 */
+	@Override
+	protected Resolutor nuevaInstancia() {
+		ResolutorCacheado copia = (ResolutorCacheado) super.nuevaInstancia();
+		copia.resolutor = resolutor.nuevaInstancia();
+		return copia;
+	}
+
+	/**
+	 * Las soluciones guardadas son optimas; si no estaba guardada, depende del
+	 * resolutor delegado.
+	 */
+	@Override
+	public boolean esOptima() {
+		return acierto || resolutor.esOptima();
+	}
+
+	@Override
+	protected void reiniciar() {
+		super.reiniciar();
+		this.acierto = false;
+	}
+
+	/**
+	 * Indica si la ultima busqueda encontro la solucion en la cache.
+	 *
+	 * @return true si la solucion estaba guardada.
+	 */
+	public boolean isAcierto() {
+		return acierto;
+	}
+
+	/**
+	 * Obtiene la cache de soluciones.
+	 *
+	 * @return La cache.
+	 */
+	public CacheSoluciones getCache() {
+		return cache;
+	}
+
+	/**
+	 * Tunel canonizado como (menor estacion, mayor estacion, km), igual que en
+	 * {@link CacheSoluciones#clave(List, String)}.
+	 */
+	private static final class Tunel {
+		private final int menor;
+		private final int mayor;
+		private final int km;
+
+		Tunel(Arco<Integer> arco) {
+			this.menor = Math.min(arco.getVerticeOrigen(), arco.getVerticeDestino());
+			this.mayor = Math.max(arco.getVerticeOrigen(), arco.getVerticeDestino());
+			this.km = arco.getEtiqueta();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Tunel))
+				return false;
+			Tunel otro = (Tunel) obj;
+			return menor == otro.menor && mayor == otro.mayor && km == otro.km;
+		}
+
+		@Override
+		public int hashCode() {
+			return (menor * 31 + mayor) * 31 + km;
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package entrega2.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import entrega2.model.grafo.Arco;
+
+/**
+ * Resolutor que reduce los candidatos con {@link Kernelizacion} antes de
+ * delegar en otro resolutor. El resolutor delegado solo recibe el nucleo, y su
+ * solucion se traduce a los tuneles originales junto con los tuneles forzados.
+ */
+public class ResolutorKernelizado extends Resolutor {
+
+	private Resolutor resolutor;
+	private Kernelizacion kernelizacion;
+
+	/**
+	 * Constructor de la clase ResolutorKernelizado.
+	 *
+	 * @param resolutor Resolutor que se aplica sobre el nucleo.
+	 */
+	public ResolutorKernelizado(Resolutor resolutor) {
+		this.estaciones = new ArrayList<>();
+		this.kms = 0;
+		this.metrica = 0;
+		this.nombre = resolutor.getNombreResolutor() + " (Kernelizado)";
+		this.resolutor = resolutor;
+	}
+
+	/**
+	 * Reduce los candidatos, resuelve el nucleo con el resolutor delegado y
+	 * traduce la solucion a los tuneles originales.
+	 *
+	 * @param candidatos Lista de arcos candidatos.
+	 * @return Lista de arcos que representan la solucion.
+	 */
+	@Override
+	public List<Arco<Integer>> buscarSolucion(List<Arco<Integer>> candidatos) {
+		reiniciar();
+		this.popularEstaciones(candidatos, estaciones);
+
+		this.kernelizacion = Kernelizacion.aplicar(candidatos);
+
+		List<Arco<Integer>> solucionNucleo = new ArrayList<>();
+		int kmsNucleo = 0;
+
+		// Si todos los tuneles quedaron forzados no hace falta resolver nada
+		if (!kernelizacion.getNucleo().isEmpty()) {
+			solucionNucleo = resolutor.buscarSolucion(new ArrayList<>(kernelizacion.getNucleo()));
+			kmsNucleo = resolutor.getKms();
+			this.metrica = resolutor.getMetrica();
+
+			// Sin solucion para el nucleo tampoco la hay para la red original
+			if (solucionNucleo.isEmpty()) {
+				this.kms = kmsNucleo;
+				return solucionNucleo;
+			}
+		}
+
+		// Los tuneles forzados y la solucion del nucleo forman un bosque. Solo es
+		// solucion si es un arbol, es decir, si tiene un tunel menos que estaciones.
+		// Si no, la red original no es conexa y no tiene solucion.
+		List<Arco<Integer>> solucion = kernelizacion.traducir(solucionNucleo);
+		if (solucion.size() != this.estaciones.size() - 1) {
+			this.kms = Integer.MAX_VALUE;
+			return new ArrayList<>();
+		}
+
+		this.kms = kernelizacion.getKmsForzados() + kmsNucleo;
+
+		return solucion;
+	}
+
+	/**
+	 * Copia tambien el resolutor delegado, para que las copias no lo compartan.
+	 */
+	@Override
+	protected Resolutor nuevaInstancia() {
+		ResolutorKernelizado copia = (ResolutorKernelizado) super.nuevaInstancia();
+		copia.resolutor = resolutor.nuevaInstancia();
+		return copia;
+	}
+
+	/**
+	 * La configuracion del resolutor delegado, marcada como kernelizada.
+	 */
+	@Override
+	public String getConfiguracion() {
+		return resolutor.getConfiguracion() + " (Kernelizado)";
+	}
+
+	/**
+	 * Si todos los tuneles quedaron forzados la solucion es optima sin resolver
+	 * nada; si no, depende del resolutor delegado.
+	 */
+	@Override
+	public boolean esOptima() {
+		return (kernelizacion != null && kernelizacion.getNucleo().isEmpty()) || resolutor.esOptima();
+	}
+
+	@Override
+	protected void reiniciar() {
+		super.reiniciar();
+		this.kernelizacion = null;
+	}
+
+	/**
+	 * Obtiene la kernelizacion de la ultima busqueda.
+	 *
+	 * @return La kernelizacion aplicada, o null si todavia no se busco una solucion.
+	 */
+	public Kernelizacion getKernelizacion() {
+		return kernelizacion;
+	}
+}
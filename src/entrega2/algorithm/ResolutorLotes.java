@@ -0,0 +1,81 @@
+package entrega2.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import entrega2.model.Solucion;
+import entrega2.model.grafo.Arco;
+
+/**
+ * Resuelve muchas redes en forma concurrente con un mismo {@link Resolutor},
+ * cada una en una tarea de un {@link ExecutorService}. Cada tarea usa
+ * {@link Resolutor#resolver(List)}, que trabaja sobre su propia copia del
+ * resolutor, asi que las redes no comparten estado entre si.
+ */
+public class ResolutorLotes {
+
+	private Resolutor resolutor;
+	private ExecutorService executor;
+
+	/**
+	 * Constructor de la clase ResolutorLotes. El executor no se cierra al terminar;
+	 * queda a cargo de quien lo creo.
+	 *
+	 * @param resolutor Resolutor a aplicar sobre cada red.
+	 * @param executor  Executor en el que se resuelven las redes.
+	 */
+	public ResolutorLotes(Resolutor resolutor, ExecutorService executor) {
+		this.resolutor = resolutor;
+		this.executor = executor;
+	}
+
+	/**
+	 * Envia una red a resolver sin esperar el resultado.
+	 *
+	 * @param candidatos Lista de arcos candidatos de la red.
+	 * @return Resultado futuro de la red.
+	 */
+	public Future<Solucion> enviar(List<Arco<Integer>> candidatos) {
+		return executor.submit(() -> resolutor.resolver(candidatos));
+	}
+
+	/**
+	 * Resuelve todas las redes en forma concurrente y espera a que terminen.
+	 *
+	 * @param redes Lista de redes, cada una con sus arcos candidatos.
+	 * @return Soluciones, en el mismo orden que las redes.
+	 * @throws InterruptedException si el hilo se interrumpe mientras espera.
+	 */
+	public List<Solucion> resolverTodas(List<List<Arco<Integer>>> redes) throws InterruptedException {
+		List<Future<Solucion>> futuros = new ArrayList<>(redes.size());
+		for (List<Arco<Integer>> red : redes) {
+			futuros.add(enviar(red));
+		}
+
+		List<Solucion> soluciones = new ArrayList<>(redes.size());
+		try {
+			for (Future<Solucion> futuro : futuros) {
+				soluciones.add(futuro.get());
+			}
+		} catch (ExecutionException e) {
+			// Si falla una red se cancelan las que faltan y se propaga el error original
+			for (Future<Solucion> futuro : futuros) {
+				futuro.cancel(true);
+			}
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			if (e.getCause() instanceof Error)
+				throw (Error) e.getCause();
+			throw new RuntimeException(e.getCause());
+		} catch (InterruptedException e) {
+			for (Future<Solucion> futuro : futuros) {
+				futuro.cancel(true);
+			}
+			throw e;
+		}
+		return soluciones;
+	}
+}
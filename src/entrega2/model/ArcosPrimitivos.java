@@ -0,0 +1,194 @@
+package entrega2.model;
+
+import java.util.List;
+
+import entrega2.model.grafo.Arco;
+import entrega2.util.IndiceEstaciones;
+
+/**
+ * Clase que representa una lista de tuneles en arreglos primitivos, pensada para
+ * los resolutores que procesan redes grandes. Cada tunel i se guarda como
+ * (origenes[i], destinos[i], etiquetas[i]), donde origen y destino son indices
+ * densos de estaciones entre 0 y V - 1. El identificador original de cada
+ * estacion se obtiene con {@link #getEstacion(int)}.
+ */
+public class ArcosPrimitivos {
+    private int[] origenes;
+    private int[] destinos;
+    private int[] etiquetas;
+    private int cantidad;
+    private IndiceEstaciones estaciones;
+
+    /**
+     * Constructor de la clase ArcosPrimitivos a partir de tuneles expresados con
+     * los identificadores originales de las estaciones. Los indices densos se
+     * asignan en el orden en que aparece cada estacion. Los arreglos de
+     * identificadores se reutilizan para guardar los indices densos.
+     *
+     * Complejidad: O(N), donde N es la cantidad de tuneles.
+     *
+     * @param origenes  Identificadores de las estaciones de origen.
+     * @param destinos  Identificadores de las estaciones de destino.
+     * @param etiquetas Kilometros de cada tunel.
+     * @param cantidad  Cantidad de tuneles validos en los arreglos.
+     */
+    public ArcosPrimitivos(int[] origenes, int[] destinos, int[] etiquetas, int cantidad) {
+        if (cantidad < 0 || cantidad > origenes.length || cantidad > destinos.length || cantidad > etiquetas.length)
+            throw new IllegalArgumentException("Invalid cantidad");
+
+        this.origenes = origenes;
+        this.destinos = destinos;
+        this.etiquetas = etiquetas;
+        this.cantidad = cantidad;
+        this.estaciones = new IndiceEstaciones();
+
+        for (int i = 0; i < cantidad; i++) {
+            this.origenes[i] = estaciones.agregar(origenes[i]);
+            this.destinos[i] = estaciones.agregar(destinos[i]);
+        }
+    }
+
+    /**
+     * Constructor para tuneles que ya estan expresados con indices densos, por
+     * ejemplo los leidos de un archivo binario. Los arreglos se usan sin copiarse.
+     */
+    private ArcosPrimitivos(int[] origenes, int[] destinos, int[] etiquetas, int cantidad, IndiceEstaciones estaciones) {
+        this.origenes = origenes;
+        this.destinos = destinos;
+        this.etiquetas = etiquetas;
+        this.cantidad = cantidad;
+        this.estaciones = estaciones;
+    }
+
+    /**
+     * Construye los arreglos primitivos a partir de tuneles cuyos origenes y
+     * destinos ya son indices densos del indice de estaciones indicado, sin volver
+     * a traducir las estaciones.
+     *
+     * Complejidad: O(N), donde N es la cantidad de tuneles (solo se validan los
+     * indices).
+     *
+     * @param origenes   Indices densos de las estaciones de origen.
+     * @param destinos   Indices densos de las estaciones de destino.
+     * @param etiquetas  Kilometros de cada tunel.
+     * @param cantidad   Cantidad de tuneles validos en los arreglos.
+     * @param estaciones Indice de estaciones al que se refieren los indices densos.
+     * @return Los arcos en arreglos primitivos.
+     */
+    public static ArcosPrimitivos desdeIndices(int[] origenes, int[] destinos, int[] etiquetas, int cantidad,
+            IndiceEstaciones estaciones) {
+        if (cantidad < 0 || cantidad > origenes.length || cantidad > destinos.length || cantidad > etiquetas.length)
+            throw new IllegalArgumentException("Invalid cantidad");
+
+        int v = estaciones.cantidad();
+        for (int i = 0; i < cantidad; i++) {
+            if (origenes[i] < 0 || origenes[i] >= v || destinos[i] < 0 || destinos[i] >= v)
+                throw new IllegalArgumentException("Invalid station index in tunnel " + i);
+        }
+
+        return new ArcosPrimitivos(origenes, destinos, etiquetas, cantidad, estaciones);
+    }
+
+    /**
+     * Construye los arreglos primitivos a partir de una lista de arcos.
+     *
+     * Complejidad: O(N), donde N es la cantidad de tuneles.
+     *
+     * @param arcos Lista de arcos.
+     * @return Los arcos en arreglos primitivos, en el mismo orden que la lista.
+     */
+    public static ArcosPrimitivos desde(List<Arco<Integer>> arcos) {
+        int[] origenes = new int[arcos.size()];
+        int[] destinos = new int[arcos.size()];
+        int[] etiquetas = new int[arcos.size()];
+
+        int i = 0;
+        for (Arco<Integer> arco : arcos) {
+            origenes[i] = arco.getVerticeOrigen();
+            destinos[i] = arco.getVerticeDestino();
+            etiquetas[i] = arco.getEtiqueta();
+            i++;
+        }
+
+        return new ArcosPrimitivos(origenes, destinos, etiquetas, arcos.size());
+    }
+
+    /**
+     * Obtiene la cantidad de tuneles.
+     *
+     * @return La cantidad de tuneles.
+     */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Obtiene la cantidad de estaciones distintas.
+     *
+     * @return La cantidad de estaciones.
+     */
+    public int getCantidadEstaciones() {
+        return estaciones.cantidad();
+    }
+
+    /**
+     * Obtiene el identificador original de una estacion.
+     *
+     * @param indice Indice denso de la estacion.
+     * @return El identificador original de la estacion.
+     */
+    public int getEstacion(int indice) {
+        return estaciones.estacion(indice);
+    }
+
+    /**
+     * Obtiene los indices densos de las estaciones de origen. Se devuelve el
+     * arreglo interno, sin copiarlo; solo son validas las primeras
+     * {@link #getCantidad()} posiciones.
+     *
+     * @return Arreglo de origenes.
+     */
+    public int[] getOrigenes() {
+        return origenes;
+    }
+
+    /**
+     * Obtiene los indices densos de las estaciones de destino. Se devuelve el
+     * arreglo interno, sin copiarlo.
+     *
+     * @return Arreglo de destinos.
+     */
+    public int[] getDestinos() {
+        return destinos;
+    }
+
+    /**
+     * Obtiene los kilometros de cada tunel. Se devuelve el arreglo interno, sin
+     * copiarlo.
+     *
+     * @return Arreglo de kilometros.
+     */
+    public int[] getEtiquetas() {
+        return etiquetas;
+    }
+
+    /**
+     * Construye el arco i con los identificadores originales de las estaciones.
+     *
+     * @param i Indice del tunel.
+     * @return El arco correspondiente.
+     */
+    public Arco<Integer> getArco(int i) {
+        return new Arco<Integer>(estaciones.estacion(origenes[i]), estaciones.estacion(destinos[i]), etiquetas[i]);
+    }
+
+    /**
+     * Obtiene el indice de estaciones, para traducir otros identificadores de
+     * estacion a los mismos indices densos.
+     *
+     * @return El indice de estaciones.
+     */
+    public IndiceEstaciones getIndiceEstaciones() {
+        return estaciones;
+    }
+}
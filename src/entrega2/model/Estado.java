@@ -1,19 +1,24 @@
 package entrega2.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import entrega2.model.grafo.Arco;
-import entrega2.util.UnionFind;
+import entrega2.util.UnionFindReversible;
 
 /**
  * Clase que representa el estado actual en el algoritmo de Backtracking.
+ * La solucion parcial se guarda como una pila de indices de la lista de
+ * candidatos, para no crear objetos en cada nodo de la busqueda. La lista de
+ * arcos solo se arma cuando se pide con {@link #getSolucionParcial(List)}.
  */
 public class Estado {
     private int posicion;
     private int km;
-    private List<Arco<Integer>> solucionParcial;
-    private UnionFind unionFind;
+    private int[] solucionParcial;
+    private int cantidadArcos;
+    private UnionFindReversible unionFind;
 
     /**
      * Constructor de la clase Estado.
@@ -23,8 +28,24 @@ public class Estado {
     public Estado(int cantEstaciones) {
         this.posicion = 0;
         this.km = 0;
-        this.solucionParcial = new ArrayList<>();
-        this.unionFind = new UnionFind(cantEstaciones);
+        // Una solucion valida tiene a lo sumo cantEstaciones - 1 arcos
+        this.solucionParcial = new int[Math.max(1, cantEstaciones - 1)];
+        this.cantidadArcos = 0;
+        this.unionFind = new UnionFindReversible(cantEstaciones);
+    }
+
+    /**
+     * Constructor de copia de la clase Estado. La copia no comparte la solucion
+     * parcial ni la estructura UnionFind con el estado original.
+     *
+     * @param otro Estado a copiar.
+     */
+    public Estado(Estado otro) {
+        this.posicion = otro.posicion;
+        this.km = otro.km;
+        this.solucionParcial = otro.solucionParcial.clone();
+        this.cantidadArcos = otro.cantidadArcos;
+        this.unionFind = otro.unionFind.clone();
     }
 
     /**
@@ -32,7 +53,7 @@ public class Estado {
      *
      * @return La estructura UnionFind.
      */
-    public UnionFind getUnion() {
+    public UnionFindReversible getUnion() {
         return unionFind;
     }
 
@@ -41,35 +62,58 @@ public class Estado {
      *
      * @param union La estructura UnionFind.
      */
-    public void setUnion(UnionFind union) {
+    public void setUnion(UnionFindReversible union) {
         this.unionFind = union;
     }
 
     /**
      * Obtiene la solucin parcial actual.
      *
+     * Complejidad: O(A), donde A es la cantidad de arcos de la solucin parcial.
+     *
+     * @param candidatos Lista de arcos candidatos a la que refieren los indices.
      * @return La lista de arcos que representan la solucin parcial.
      */
-    public List<Arco<Integer>> getSolucionParcial() {
-        return new ArrayList<Arco<Integer>>(solucionParcial);
+    public List<Arco<Integer>> getSolucionParcial(List<Arco<Integer>> candidatos) {
+        List<Arco<Integer>> solucion = new ArrayList<>(this.cantidadArcos);
+        for (int i = 0; i < this.cantidadArcos; i++) {
+            solucion.add(candidatos.get(this.solucionParcial[i]));
+        }
+        return solucion;
+    }
+
+    /**
+     * Obtiene la cantidad de arcos de la solucin parcial.
+     *
+     * @return La cantidad de arcos.
+     */
+    public int getCantidadArcos() {
+        return cantidadArcos;
     }
 
     /**
      * Agrega un arco a la solucin parcial.
      *
-     * @param arco Arco a agregar.
+     * Complejidad: O(1) amortizado.
+     *
+     * @param indice Indice del arco en la lista de candidatos.
      */
-    public void addArco(Arco<Integer> arco) {
-        this.solucionParcial.add(arco);
+    public void addArco(int indice) {
+        if (this.cantidadArcos == this.solucionParcial.length) {
+            this.solucionParcial = Arrays.copyOf(this.solucionParcial, this.cantidadArcos * 2);
+        }
+        this.solucionParcial[this.cantidadArcos++] = indice;
     }
 
     /**
-     * Elimina un arco de la solucin parcial.
+     * Elimina el ltimo arco agregado a la solucin parcial.
      *
-     * @param arco Arco a eliminar.
+     * Complejidad: O(1)
      */
-    public void removeArco(Arco<Integer> arco) {
-        this.solucionParcial.remove(arco);
+    public void removeArco() {
+        if (this.cantidadArcos == 0)
+            throw new IllegalStateException("La solucion parcial esta vacia");
+        this.cantidadArcos--;
     }
 
     /**
@@ -0,0 +1,82 @@
+package entrega2.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import entrega2.model.grafo.Arco;
+
+/**
+ * Clase inmutable que representa el resultado de resolver una red: los tuneles
+ * elegidos, sus kilometros totales, la metrica del resolutor y el tiempo que
+ * tomo la busqueda. Se puede compartir entre hilos sin sincronizar.
+ */
+public final class Solucion {
+    private final List<Arco<Integer>> arcos;
+    private final int kms;
+    private final int metrica;
+    private final double tiempo;
+    private final String nombreResolutor;
+
+    /**
+     * Constructor de la clase Solucion. La lista de arcos se copia.
+     *
+     * @param arcos           Arcos de la solucion.
+     * @param kms             Kilometros totales.
+     * @param metrica         Metrica del resolutor.
+     * @param tiempo          Tiempo de la busqueda, en milisegundos.
+     * @param nombreResolutor Nombre del resolutor que la encontro.
+     */
+    public Solucion(List<Arco<Integer>> arcos, int kms, int metrica, double tiempo, String nombreResolutor) {
+        this.arcos = Collections.unmodifiableList(new ArrayList<>(arcos));
+        this.kms = kms;
+        this.metrica = metrica;
+        this.tiempo = tiempo;
+        this.nombreResolutor = nombreResolutor;
+    }
+
+    /**
+     * Obtiene los arcos de la solucion, en una lista no modificable.
+     *
+     * @return Lista de arcos.
+     */
+    public List<Arco<Integer>> getArcos() {
+        return arcos;
+    }
+
+    /**
+     * Obtiene los kilometros totales de la solucion.
+     *
+     * @return Kilometros totales.
+     */
+    public int getKms() {
+        return kms;
+    }
+
+    /**
+     * Obtiene la metrica del resolutor.
+     *
+     * @return Valor de la metrica.
+     */
+    public int getMetrica() {
+        return metrica;
+    }
+
+    /**
+     * Obtiene el tiempo que tomo la busqueda.
+     *
+     * @return Tiempo en milisegundos.
+     */
+    public double getTiempo() {
+        return tiempo;
+    }
+
+    /**
+     * Obtiene el nombre del resolutor que encontro la solucion.
+     *
+     * @return Nombre del resolutor.
+     */
+    public String getNombreResolutor() {
+        return nombreResolutor;
+    }
+}
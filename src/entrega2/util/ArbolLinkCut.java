@@ -0,0 +1,279 @@
+package entrega2.util;
+
+import java.util.Arrays;
+
+/**
+ * Bosque dinamico de Sleator y Tarjan (link-cut tree) sobre arreglos
+ * primitivos. Cada nodo tiene un valor entero, y el bosque permite unir y cortar
+ * arboles y consultar el nodo de mayor valor en el camino entre dos nodos, todo
+ * en O(log n) amortizado.
+ * <p>
+ * Para guardar pesos en las aristas se usa un nodo por arista (con el peso como
+ * valor) unido a sus dos extremos, y los nodos que representan vertices tienen
+ * valor {@link Integer#MIN_VALUE}.
+ */
+public class ArbolLinkCut
+{
+    /**
+     * Node 0 is the null node.
+     */
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private boolean[] reversed;
+    private int[] value;
+
+    /**
+     * max[x] holds the node with the greatest value in the splay subtree of x.
+     */
+    private int[] max;
+
+    /**
+     * Released node ids, reused before growing the arrays.
+     */
+    private int[] free;
+    private int freeSize;
+    private int size;
+
+    /**
+     * Create an empty forest.
+     *
+     * @param capacity initial number of nodes
+     */
+    public ArbolLinkCut(int capacity)
+    {
+        int n = Math.max(2, capacity + 1);
+        left = new int[n];
+        right = new int[n];
+        parent = new int[n];
+        reversed = new boolean[n];
+        value = new int[n];
+        max = new int[n];
+        free = new int[16];
+        freeSize = 0;
+        size = 1;
+        value[0] = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Create a new single-node tree.
+     *
+     * @param v value of the node
+     * @return the id of the node
+     */
+    public int newNode(int v)
+    {
+        int x;
+        if (freeSize > 0) {
+            x = free[--freeSize];
+        } else {
+            if (size == left.length)
+                grow();
+            x = size++;
+        }
+        left[x] = right[x] = parent[x] = 0;
+        reversed[x] = false;
+        value[x] = v;
+        max[x] = x;
+        return x;
+    }
+
+    /**
+     * Release a node that has already been cut from every other node.
+     *
+     * @param x
+     */
+    public void releaseNode(int x)
+    {
+        if (freeSize == free.length)
+            free = Arrays.copyOf(free, freeSize * 2);
+        free[freeSize++] = x;
+    }
+
+    public int value(int x)
+    {
+        return value[x];
+    }
+
+    /**
+     * Check whether u and v belong to the same tree.
+     *
+     * @param u
+     * @param v
+     * @return
+     */
+    public boolean connected(int u, int v)
+    {
+        return u == v || findRoot(u) == findRoot(v);
+    }
+
+    /**
+     * Join the trees of u and v with an edge u - v. They must be in different
+     * trees.
+     *
+     * @param u
+     * @param v
+     */
+    public void link(int u, int v)
+    {
+        evert(u);
+        parent[u] = v;
+    }
+
+    /**
+     * Remove the edge u - v. It must exist.
+     *
+     * @param u
+     * @param v
+     */
+    public void cut(int u, int v)
+    {
+        evert(u);
+        access(v);
+        // Now u is the left child of v and has no right child
+        left[v] = 0;
+        parent[u] = 0;
+        update(v);
+    }
+
+    /**
+     * Find the node with the greatest value on the path between u and v. They
+     * must be in the same tree.
+     *
+     * @param u
+     * @param v
+     * @return
+     */
+    public int maxOnPath(int u, int v)
+    {
+        evert(u);
+        access(v);
+        return max[v];
+    }
+
+    private boolean isRoot(int x)
+    {
+        int p = parent[x];
+        return p == 0 || (left[p] != x && right[p] != x);
+    }
+
+    private void push(int x)
+    {
+        if (reversed[x]) {
+            int t = left[x]; left[x] = right[x]; right[x] = t;
+            if (left[x] != 0)
+                reversed[left[x]] ^= true;
+            if (right[x] != 0)
+                reversed[right[x]] ^= true;
+            reversed[x] = false;
+        }
+    }
+
+    private void update(int x)
+    {
+        int m = x;
+        if (left[x] != 0 && value[max[left[x]]] > value[m])
+            m = max[left[x]];
+        if (right[x] != 0 && value[max[right[x]]] > value[m])
+            m = max[right[x]];
+        max[x] = m;
+    }
+
+    private void rotate(int x)
+    {
+        int p = parent[x];
+        int g = parent[p];
+        boolean pIsRoot = isRoot(p);
+
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != 0)
+                parent[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != 0)
+                parent[left[x]] = p;
+            left[x] = p;
+        }
+        parent[p] = x;
+        parent[x] = g;
+        if (!pIsRoot) {
+            if (left[g] == p)
+                left[g] = x;
+            else
+                right[g] = x;
+        }
+        update(p);
+        update(x);
+    }
+
+    private int[] stack = new int[16];
+
+    private void splay(int x)
+    {
+        // Push pending reversals from the splay root down to x
+        int n = 0;
+        for (int y = x; ; y = parent[y]) {
+            if (n == stack.length)
+                stack = Arrays.copyOf(stack, n * 2);
+            stack[n++] = y;
+            if (isRoot(y))
+                break;
+        }
+        while (n > 0)
+            push(stack[--n]);
+
+        while (!isRoot(x)) {
+            int p = parent[x];
+            if (!isRoot(p)) {
+                int g = parent[p];
+                boolean zigzig = (left[g] == p) == (left[p] == x);
+                rotate(zigzig ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void access(int x)
+    {
+        int last = 0;
+        for (int y = x; y != 0; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            update(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private void evert(int x)
+    {
+        access(x);
+        reversed[x] ^= true;
+    }
+
+    private int findRoot(int x)
+    {
+        access(x);
+        while (true) {
+            push(x);
+            if (left[x] == 0)
+                break;
+            x = left[x];
+        }
+        splay(x);
+        return x;
+    }
+
+    private void grow()
+    {
+        int n = left.length * 2;
+        left = Arrays.copyOf(left, n);
+        right = Arrays.copyOf(right, n);
+        parent = Arrays.copyOf(parent, n);
+        reversed = Arrays.copyOf(reversed, n);
+        value = Arrays.copyOf(value, n);
+        max = Arrays.copyOf(max, n);
+    }
+}
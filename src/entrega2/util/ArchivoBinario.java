@@ -0,0 +1,304 @@
+package entrega2.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+
+import entrega2.model.ArcosPrimitivos;
+
+/**
+ * Formato binario versionado para redes de tuneles, pensado para cargar redes
+ * grandes sin volver a parsear texto. Todos los valores son little-endian:
+ *
+ * <pre>
+ * Encabezado (32 bytes)
+ *   0  4 bytes  "SUBT"
+ *   4  uint16   version ({@link #VERSION})
+ *   6  uint8    ancho de los kilometros en bytes (2 o 4)
+ *   7  uint8    reservado (0)
+ *   8  int32    cantidad de estaciones V
+ *  12  int64    cantidad de tuneles N
+ *  20  int32    CRC32 de todo lo que sigue al encabezado
+ *  24  8 bytes  reservados (0)
+ * Tabla de estaciones (V * 4 bytes)
+ *   int32       identificador original de la estacion de indice denso i
+ * Tuneles (N registros de 8 + ancho bytes)
+ *   int32       indice denso del origen
+ *   int32       indice denso del destino
+ *   int16/32    kilometros, con signo
+ * </pre>
+ *
+ * Como los tuneles ya estan expresados con indices densos, la carga no traduce
+ * estaciones tunel por tunel: se mapea el archivo y se copian los registros a
+ * los arreglos de {@link ArcosPrimitivos}. Un archivo convertido desde texto da
+ * exactamente los mismos arreglos que leer el texto con {@link LectorMapeado}.
+ */
+public class ArchivoBinario {
+
+	public static final int VERSION = 1;
+	public static final int TAMANIO_ENCABEZADO = 32;
+
+	private static final int MAGIA = 'S' | 'U' << 8 | 'B' << 16 | 'T' << 24;
+
+	private ArchivoBinario() {
+	}
+
+	/**
+	 * Carga un archivo binario verificando su CRC32.
+	 *
+	 * Complejidad: O(N + V).
+	 *
+	 * @param path Ruta del archivo.
+	 * @return Los tuneles del archivo, en el mismo orden.
+	 */
+	public static ArcosPrimitivos leer(String path) {
+		return leer(path, true);
+	}
+
+	/**
+	 * Carga un archivo binario mapeandolo en memoria.
+	 *
+	 * @param path      Ruta del archivo.
+	 * @param verificar true para verificar el CRC32. Sin verificar solo se
+	 *                  controla que el tamanio y los indices sean validos.
+	 * @return Los tuneles del archivo, en el mismo orden.
+	 */
+	public static ArcosPrimitivos leer(String path, boolean verificar) {
+		try (RandomAccessFile archivo = new RandomAccessFile(path, "r");
+				FileChannel canal = archivo.getChannel()) {
+			ByteBuffer encabezado = ByteBuffer.allocate(TAMANIO_ENCABEZADO).order(ByteOrder.LITTLE_ENDIAN);
+			while (encabezado.hasRemaining()) {
+				if (canal.read(encabezado, encabezado.position()) < 0)
+					break;
+			}
+			if (encabezado.hasRemaining() || encabezado.getInt(0) != MAGIA)
+				throw new IllegalArgumentException("No es un archivo de tuneles binario: " + path);
+
+			int version = encabezado.getShort(4) & 0xFFFF;
+			if (version != VERSION)
+				throw new IllegalArgumentException("Version no soportada: " + version);
+			int ancho = encabezado.get(6);
+			if (ancho != 2 && ancho != 4)
+				throw new IllegalArgumentException("Ancho de kilometros invalido: " + ancho);
+			int cantidadEstaciones = encabezado.getInt(8);
+			long cantidadTuneles = encabezado.getLong(12);
+			int crcEsperado = encabezado.getInt(20);
+			if (cantidadEstaciones < 0 || cantidadTuneles < 0 || cantidadTuneles > Integer.MAX_VALUE - 8)
+				throw new IllegalArgumentException("Encabezado invalido");
+
+			int registro = 8 + ancho;
+			long tabla = 4L * cantidadEstaciones;
+			if (canal.size() != TAMANIO_ENCABEZADO + tabla + cantidadTuneles * registro)
+				throw new IllegalArgumentException("El tamanio del archivo no coincide con el encabezado");
+
+			CRC32 crc = verificar ? new CRC32() : null;
+
+			// Tabla de estaciones, de a ventanas de enteros completos
+			IndiceEstaciones estaciones = new IndiceEstaciones(cantidadEstaciones);
+			long posicion = TAMANIO_ENCABEZADO;
+			int leidas = 0;
+			while (leidas < cantidadEstaciones) {
+				int cantidad = Math.min(cantidadEstaciones - leidas, LectorMapeado.VENTANA / 4);
+				MappedByteBuffer datos = mapear(canal, posicion, 4L * cantidad, crc);
+				for (int i = 0; i < cantidad; i++) {
+					if (estaciones.agregar(datos.getInt(4 * i)) != leidas + i)
+						throw new IllegalArgumentException("Estacion repetida en la tabla de estaciones");
+				}
+				leidas += cantidad;
+				posicion += 4L * cantidad;
+			}
+
+			// Tuneles, de a ventanas de registros completos
+			int n = (int) cantidadTuneles;
+			int[] origenes = new int[n];
+			int[] destinos = new int[n];
+			int[] etiquetas = new int[n];
+			int porVentana = LectorMapeado.VENTANA / registro;
+			for (int desde = 0; desde < n; desde += porVentana) {
+				int cantidad = Math.min(n - desde, porVentana);
+				MappedByteBuffer datos = mapear(canal, posicion, (long) cantidad * registro, crc);
+				for (int i = 0, p = 0; i < cantidad; i++, p += registro) {
+					origenes[desde + i] = datos.getInt(p);
+					destinos[desde + i] = datos.getInt(p + 4);
+					etiquetas[desde + i] = ancho == 4 ? datos.getInt(p + 8) : datos.getShort(p + 8);
+				}
+				posicion += (long) cantidad * registro;
+			}
+
+			if (crc != null && (int) crc.getValue() != crcEsperado)
+				throw new IllegalArgumentException("El CRC32 no coincide, el archivo esta danado");
+
+			return ArcosPrimitivos.desdeIndices(origenes, destinos, etiquetas, n, estaciones);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static MappedByteBuffer mapear(FileChannel canal, long posicion, long largo, CRC32 crc)
+			throws IOException {
+		MappedByteBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, posicion, largo);
+		datos.order(ByteOrder.LITTLE_ENDIAN);
+		if (crc != null) {
+			crc.update(datos.duplicate());
+		}
+		return datos;
+	}
+
+	/**
+	 * Guarda los tuneles en un archivo binario. Los kilometros se guardan con 2
+	 * bytes si todos entran, y si no con 4.
+	 *
+	 * Complejidad: O(N + V).
+	 *
+	 * @param arcos Tuneles a guardar.
+	 * @param path  Ruta del archivo.
+	 */
+	public static void escribir(ArcosPrimitivos arcos, String path) {
+		int[] origenes = arcos.getOrigenes();
+		int[] destinos = arcos.getDestinos();
+		int[] etiquetas = arcos.getEtiquetas();
+
+		int ancho = 2;
+		for (int i = 0; i < arcos.getCantidad() && ancho == 2; i++) {
+			if (etiquetas[i] != (short) etiquetas[i])
+				ancho = 4;
+		}
+
+		try (Escritor escritor = new Escritor(new File(path), arcos.getCantidadEstaciones(), ancho)) {
+			for (int i = 0; i < arcos.getCantidadEstaciones(); i++) {
+				escritor.estacion(arcos.getEstacion(i));
+			}
+			for (int i = 0; i < arcos.getCantidad(); i++) {
+				escritor.tunel(origenes[i], destinos[i], etiquetas[i]);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Convierte un archivo de tuneles en formato texto (E1;E2;15) al formato
+	 * binario. El texto se lee en paralelo con {@link LectorMapeado}.
+	 *
+	 * @param texto   Ruta del archivo de texto.
+	 * @param binario Ruta del archivo binario a crear.
+	 * @return La cantidad de tuneles convertidos.
+	 */
+	public static int convertir(String texto, String binario) {
+		ArcosPrimitivos arcos = new LectorMapeado(texto, ForkJoinPool.commonPool()).getArcosPrimitivos();
+		escribir(arcos, binario);
+		return arcos.getCantidad();
+	}
+
+	/**
+	 * Escritor secuencial del formato, para generar archivos sin tener todos los
+	 * tuneles en memoria. Primero se escriben las estaciones, en el orden de sus
+	 * indices densos, y despues los tuneles. La cantidad de tuneles y el CRC32 se
+	 * completan en el encabezado al cerrar.
+	 */
+	static class Escritor implements Closeable {
+
+		private final RandomAccessFile archivo;
+		private final FileChannel canal;
+		private final CRC32 crc = new CRC32();
+		private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+		private final int cantidadEstaciones;
+		private final int ancho;
+		private int estaciones;
+		private long tuneles;
+
+		/**
+		 * @param destino            Archivo a crear.
+		 * @param cantidadEstaciones Cantidad de estaciones que se van a escribir.
+		 * @param ancho              Ancho de los kilometros en bytes, 2 o 4.
+		 */
+		Escritor(File destino, int cantidadEstaciones, int ancho) throws IOException {
+			if (ancho != 2 && ancho != 4)
+				throw new IllegalArgumentException("Expected ancho 2 or 4");
+			this.cantidadEstaciones = cantidadEstaciones;
+			this.ancho = ancho;
+			this.archivo = new RandomAccessFile(destino, "rw");
+			this.canal = archivo.getChannel();
+			canal.truncate(0);
+			canal.position(TAMANIO_ENCABEZADO);
+		}
+
+		void estacion(int id) throws IOException {
+			if (tuneles > 0 || estaciones == cantidadEstaciones)
+				throw new IllegalStateException("Las estaciones van antes que los tuneles");
+			lugar(4);
+			buffer.putInt(id);
+			estaciones++;
+		}
+
+		/**
+		 * Escribe un tunel entre los indices densos origen y destino.
+		 */
+		void tunel(int origen, int destino, int km) throws IOException {
+			if (estaciones != cantidadEstaciones)
+				throw new IllegalStateException("Faltan estaciones antes de los tuneles");
+			if (ancho == 2 && km != (short) km)
+				throw new IllegalArgumentException("Kilometros fuera de rango para 2 bytes: " + km);
+			lugar(8 + ancho);
+			buffer.putInt(origen).putInt(destino);
+			if (ancho == 4) {
+				buffer.putInt(km);
+			} else {
+				buffer.putShort((short) km);
+			}
+			tuneles++;
+		}
+
+		private void lugar(int bytes) throws IOException {
+			if (buffer.remaining() < bytes)
+				vaciar();
+		}
+
+		private void vaciar() throws IOException {
+			buffer.flip();
+			crc.update(buffer.array(), 0, buffer.limit());
+			while (buffer.hasRemaining()) {
+				canal.write(buffer);
+			}
+			buffer.clear();
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				vaciar();
+				if (estaciones != cantidadEstaciones)
+					throw new IllegalStateException("Se escribieron " + estaciones + " de " + cantidadEstaciones
+							+ " estaciones");
+
+				ByteBuffer encabezado = ByteBuffer.allocate(TAMANIO_ENCABEZADO).order(ByteOrder.LITTLE_ENDIAN);
+				encabezado.putInt(MAGIA).putShort((short) VERSION).put((byte) ancho).put((byte) 0);
+				encabezado.putInt(cantidadEstaciones).putLong(tuneles).putInt((int) crc.getValue());
+				encabezado.clear();
+				while (encabezado.hasRemaining()) {
+					canal.write(encabezado, encabezado.position());
+				}
+			} finally {
+				archivo.close();
+			}
+		}
+	}
+
+	/**
+	 * Convierte un archivo de texto al formato binario desde la linea de comandos:
+	 * <code>ArchivoBinario &lt;texto&gt; &lt;binario&gt;</code>.
+	 */
+	public static void main(String[] args) {
+		if (args.length != 2)
+			throw new IllegalArgumentException("Expected <texto> <binario>");
+		System.out.println("Tuneles convertidos: " + convertir(args[0], args[1]));
+	}
+}
@@ -0,0 +1,384 @@
+package entrega2.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generador de redes de subterraneo sinteticas, para pruebas de escala. Escribe
+ * los tuneles directamente al archivo a medida que los genera, sin guardarlos en
+ * memoria, asi que puede producir archivos de varios GB.
+ * <p>
+ * Las estaciones se numeran desde 1. Las redes generadas son conexas y no tienen
+ * dos tuneles entre el mismo par de estaciones. Con la misma semilla y los mismos
+ * parametros se obtiene siempre el mismo archivo.
+ * <p>
+ * Hay dos formatos de salida:
+ * <ul>
+ * <li>{@link Formato#TEXTO}: el mismo formato que los datasets, una linea
+ * <code>E&lt;a&gt;;E&lt;b&gt;;&lt;km&gt;</code> por tunel.</li>
+ * <li>{@link Formato#BINARIO}: el formato de {@link ArchivoBinario}, con los
+ * kilometros en 4 bytes. La estacion i se guarda con el indice denso i - 1.</li>
+ * </ul>
+ */
+public class GeneradorRedes {
+
+	public enum Formato {
+		TEXTO, BINARIO
+	}
+
+	/**
+	 * Distribucion de la que se sortean los kilometros de cada tunel.
+	 */
+	public interface DistribucionKms {
+
+		int siguiente(Random random);
+
+		/**
+		 * Kilometros uniformes entre min y max, ambos incluidos.
+		 */
+		static DistribucionKms uniforme(int min, int max) {
+			if (min > max)
+				throw new IllegalArgumentException("Expected min <= max");
+			long rango = (long) max - min + 1;
+			return random -> (int) (min + (long) (random.nextDouble() * rango));
+		}
+
+		/**
+		 * Kilometros con distribucion normal, redondeados y acotados a 1 como minimo.
+		 */
+		static DistribucionKms normal(double media, double desvio) {
+			return random -> (int) Math.max(1, Math.round(media + desvio * random.nextGaussian()));
+		}
+
+		/**
+		 * Kilometros con distribucion exponencial: muchos tuneles cortos y pocos muy
+		 * largos. Acotados a 1 como minimo.
+		 */
+		static DistribucionKms exponencial(double media) {
+			return random -> (int) Math.max(1, Math.round(-media * Math.log(1 - random.nextDouble())));
+		}
+	}
+
+	private final Random random;
+	private DistribucionKms distribucion = DistribucionKms.uniforme(1, 1000);
+	private Formato formato = Formato.TEXTO;
+
+	public GeneradorRedes(long semilla) {
+		this.random = new Random(semilla);
+	}
+
+	public void setDistribucion(DistribucionKms distribucion) {
+		this.distribucion = distribucion;
+	}
+
+	public void setFormato(Formato formato) {
+		this.formato = formato;
+	}
+
+	/**
+	 * Red con un tunel entre cada par de estaciones.
+	 *
+	 * @return la cantidad de tuneles escritos
+	 */
+	public long completa(int estaciones, File destino) throws IOException {
+		validarEstaciones(estaciones);
+		try (Escritor escritor = new Escritor(destino, estaciones)) {
+			for (int v = 1; v < estaciones; v++) {
+				for (int w = 0; w < v; w++) {
+					escritor.tunel(w + 1, v + 1, distribucion.siguiente(random));
+				}
+			}
+			return escritor.getTuneles();
+		}
+	}
+
+	/**
+	 * Red aleatoria con el grado medio indicado: un arbol aleatorio que la hace
+	 * conexa, mas tuneles entre pares de estaciones sorteados con probabilidad
+	 * uniforme. El grado medio no puede ser menor a 2(n-1)/n, el del arbol.
+	 *
+	 * @return la cantidad de tuneles escritos
+	 */
+	public long dispersa(int estaciones, double gradoMedio, File destino) throws IOException {
+		validarEstaciones(estaciones);
+		try (Escritor escritor = new Escritor(destino, estaciones)) {
+			conexa(escritor, 0, estaciones, probabilidadExtra(estaciones, gradoMedio));
+			return escritor.getTuneles();
+		}
+	}
+
+	/**
+	 * Red en forma de grilla, con tuneles entre estaciones vecinas en la misma
+	 * fila o columna. La estacion de la fila f y la columna c es la f*columnas+c+1.
+	 *
+	 * @return la cantidad de tuneles escritos
+	 */
+	public long grilla(int filas, int columnas, File destino) throws IOException {
+		if (filas <= 0 || columnas <= 0 || (long) filas * columnas > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Expected 0 < filas * columnas <= Integer.MAX_VALUE");
+		try (Escritor escritor = new Escritor(destino, filas * columnas)) {
+			for (int f = 0; f < filas; f++) {
+				for (int c = 0; c < columnas; c++) {
+					int estacion = f * columnas + c + 1;
+					if (c + 1 < columnas)
+						escritor.tunel(estacion, estacion + 1, distribucion.siguiente(random));
+					if (f + 1 < filas)
+						escritor.tunel(estacion, estacion + columnas, distribucion.siguiente(random));
+				}
+			}
+			return escritor.getTuneles();
+		}
+	}
+
+	/**
+	 * Red formada por grupos de estaciones densamente conectados entre si, unidos
+	 * por pocos tuneles. Cada grupo es una red conexa con la densidad indicada, y
+	 * cada grupo a partir del segundo se une a grupos anteriores con la cantidad de
+	 * puentes indicada (al menos uno, para que la red sea conexa).
+	 *
+	 * @param densidad probabilidad de que haya un tunel entre dos estaciones del
+	 *                 mismo grupo, ademas de los del arbol que lo hace conexo
+	 * @return la cantidad de tuneles escritos
+	 */
+	public long agrupada(int grupos, int estacionesPorGrupo, double densidad, int puentes, File destino)
+			throws IOException {
+		if (grupos <= 0 || estacionesPorGrupo <= 0 || (long) grupos * estacionesPorGrupo > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Expected 0 < grupos * estacionesPorGrupo <= Integer.MAX_VALUE");
+		if (densidad < 0 || densidad > 1)
+			throw new IllegalArgumentException("Expected 0 <= densidad <= 1");
+		if (puentes <= 0)
+			throw new IllegalArgumentException("Expected puentes > 0");
+
+		try (Escritor escritor = new Escritor(destino, grupos * estacionesPorGrupo)) {
+			Set<Long> unidos = new HashSet<>();
+			for (int g = 0; g < grupos; g++) {
+				int base = g * estacionesPorGrupo;
+				conexa(escritor, base, estacionesPorGrupo, densidad);
+				if (g == 0)
+					continue;
+
+				// El primer puente va siempre al grupo anterior, el resto a grupos al azar.
+				// Los puentes de este grupo son los unicos entre el y los anteriores, asi que
+				// alcanza con no repetirlos entre si.
+				unidos.clear();
+				long posibles = (long) base * estacionesPorGrupo;
+				for (int i = 0; i < puentes && unidos.size() < posibles; i++) {
+					int origen, destinoPuente;
+					do {
+						int grupo = i == 0 ? g - 1 : random.nextInt(g);
+						origen = grupo * estacionesPorGrupo + random.nextInt(estacionesPorGrupo);
+						destinoPuente = base + random.nextInt(estacionesPorGrupo);
+					} while (!unidos.add((long) origen * Integer.MAX_VALUE + destinoPuente));
+					escritor.tunel(origen + 1, destinoPuente + 1, distribucion.siguiente(random));
+				}
+			}
+			return escritor.getTuneles();
+		}
+	}
+
+	/**
+	 * Escribe una red conexa sobre las estaciones [base, base + estaciones): cada
+	 * estacion se une a una anterior al azar, y ademas a cada una de las otras
+	 * anteriores con probabilidad p. Los pares que se unen con probabilidad p se
+	 * recorren con saltos de largo geometrico, asi que el costo es proporcional a la
+	 * cantidad de tuneles y no a la cantidad de pares.
+	 */
+	private void conexa(Escritor escritor, int base, int estaciones, double p) throws IOException {
+		double logq = Math.log(1 - p);
+		for (int v = 1; v < estaciones; v++) {
+			int padre = random.nextInt(v);
+			escritor.tunel(base + padre + 1, base + v + 1, distribucion.siguiente(random));
+			if (p <= 0)
+				continue;
+			for (long w = salto(logq); w < v; w += 1 + salto(logq)) {
+				if (w != padre)
+					escritor.tunel(base + (int) w + 1, base + v + 1, distribucion.siguiente(random));
+			}
+		}
+	}
+
+	/**
+	 * Cantidad de pares que se saltean hasta el proximo que se une, con
+	 * distribucion geometrica de parametro p = 1 - e^logq.
+	 */
+	private long salto(double logq) {
+		double salto = Math.floor(Math.log(1 - random.nextDouble()) / logq);
+		return salto >= Long.MAX_VALUE / 2 ? Long.MAX_VALUE / 2 : (long) salto;
+	}
+
+	/**
+	 * Probabilidad con la que hay que unir los pares que no son del arbol para
+	 * llegar al grado medio pedido.
+	 */
+	private static double probabilidadExtra(int estaciones, double gradoMedio) {
+		double tuneles = gradoMedio * estaciones / 2;
+		double arbol = estaciones - 1;
+		double pares = (double) estaciones * (estaciones - 1) / 2;
+		if (tuneles < arbol || tuneles > pares)
+			throw new IllegalArgumentException("Expected 2(n-1)/n <= gradoMedio <= n-1");
+		return pares == arbol ? 0 : (tuneles - arbol) / (pares - arbol);
+	}
+
+	private static void validarEstaciones(int estaciones) {
+		if (estaciones <= 0)
+			throw new IllegalArgumentException("Expected estaciones > 0");
+	}
+
+	/**
+	 * Escribe los tuneles en el formato configurado. El texto se arma en un buffer
+	 * propio para no pasar por String ni por un Writer en cada linea.
+	 */
+	private class Escritor implements Closeable {
+
+		private final OutputStream salida;
+		private final ArchivoBinario.Escritor binario;
+		private final byte[] buffer = new byte[1 << 16];
+		private int posicion;
+		private long tuneles;
+
+		Escritor(File destino, int estaciones) throws IOException {
+			if (formato == Formato.BINARIO) {
+				this.salida = null;
+				this.binario = new ArchivoBinario.Escritor(destino, estaciones, 4);
+				for (int estacion = 1; estacion <= estaciones; estacion++) {
+					binario.estacion(estacion);
+				}
+			} else {
+				this.salida = new FileOutputStream(destino);
+				this.binario = null;
+			}
+		}
+
+		void tunel(int origen, int destino, int km) throws IOException {
+			if (binario != null) {
+				binario.tunel(origen - 1, destino - 1, km);
+			} else {
+				// Dos ids con prefijo, un entero con signo y los separadores: 3 * 11 + 5
+				if (posicion + 38 > buffer.length)
+					vaciar();
+				buffer[posicion++] = 'E';
+				escribirTexto(origen);
+				buffer[posicion++] = ';';
+				buffer[posicion++] = 'E';
+				escribirTexto(destino);
+				buffer[posicion++] = ';';
+				escribirTexto(km);
+				buffer[posicion++] = '\n';
+			}
+			tuneles++;
+		}
+
+		long getTuneles() {
+			return tuneles;
+		}
+
+		private void escribirTexto(int valor) {
+			long v = valor;
+			if (v < 0) {
+				buffer[posicion++] = '-';
+				v = -v;
+			}
+			int inicio = posicion;
+			do {
+				buffer[posicion++] = (byte) ('0' + v % 10);
+				v /= 10;
+			} while (v > 0);
+			// Los digitos quedaron al reves
+			for (int i = inicio, j = posicion - 1; i < j; i++, j--) {
+				byte aux = buffer[i];
+				buffer[i] = buffer[j];
+				buffer[j] = aux;
+			}
+		}
+
+		private void vaciar() throws IOException {
+			salida.write(buffer, 0, posicion);
+			posicion = 0;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (binario != null) {
+				binario.close();
+				return;
+			}
+			try {
+				vaciar();
+			} finally {
+				salida.close();
+			}
+		}
+	}
+
+	/**
+	 * Genera una red desde la linea de comandos:
+	 *
+	 * <pre>
+	 * GeneradorRedes completa &lt;estaciones&gt; &lt;archivo&gt;
+	 * GeneradorRedes dispersa &lt;estaciones&gt; &lt;gradoMedio&gt; &lt;archivo&gt;
+	 * GeneradorRedes grilla &lt;filas&gt; &lt;columnas&gt; &lt;archivo&gt;
+	 * GeneradorRedes agrupada &lt;grupos&gt; &lt;estacionesPorGrupo&gt; &lt;densidad&gt; &lt;puentes&gt; &lt;archivo&gt;
+	 * </pre>
+	 *
+	 * Opciones: <code>-semilla &lt;n&gt;</code>, <code>-binario</code> y
+	 * <code>-kms &lt;min&gt;,&lt;max&gt;</code> (por defecto 1,1000).
+	 */
+	public static void main(String[] args) throws IOException {
+		long semilla = 0;
+		boolean binario = false;
+		DistribucionKms distribucion = null;
+		List<String> parametros = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-semilla")) {
+				semilla = Long.parseLong(args[++i]);
+			} else if (args[i].equals("-binario")) {
+				binario = true;
+			} else if (args[i].equals("-kms")) {
+				String[] rango = args[++i].split(",");
+				distribucion = DistribucionKms.uniforme(Integer.parseInt(rango[0]), Integer.parseInt(rango[1]));
+			} else {
+				parametros.add(args[i]);
+			}
+		}
+
+		GeneradorRedes generador = new GeneradorRedes(semilla);
+		if (binario)
+			generador.setFormato(Formato.BINARIO);
+		if (distribucion != null)
+			generador.setDistribucion(distribucion);
+
+		if (parametros.size() < 2)
+			throw new IllegalArgumentException("Expected <topologia> <parametros...> <archivo>");
+		String topologia = parametros.get(0);
+		File destino = new File(parametros.get(parametros.size() - 1));
+		long tuneles;
+		switch (topologia) {
+		case "completa":
+			tuneles = generador.completa(Integer.parseInt(parametros.get(1)), destino);
+			break;
+		case "dispersa":
+			tuneles = generador.dispersa(Integer.parseInt(parametros.get(1)), Double.parseDouble(parametros.get(2)),
+					destino);
+			break;
+		case "grilla":
+			tuneles = generador.grilla(Integer.parseInt(parametros.get(1)), Integer.parseInt(parametros.get(2)),
+					destino);
+			break;
+		case "agrupada":
+			tuneles = generador.agrupada(Integer.parseInt(parametros.get(1)), Integer.parseInt(parametros.get(2)),
+					Double.parseDouble(parametros.get(3)), Integer.parseInt(parametros.get(4)), destino);
+			break;
+		default:
+			throw new IllegalArgumentException("Topologia desconocida: " + topologia);
+		}
+		System.out.println("Tuneles escritos: " + tuneles);
+	}
+}
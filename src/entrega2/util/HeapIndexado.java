@@ -0,0 +1,157 @@
+package entrega2.util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Min-heap binario indexado sobre los elementos 0..n-1, cada uno con una
+ * prioridad entera. Ademas de insertar y extraer el minimo permite disminuir la
+ * prioridad de un elemento que ya esta en el heap, lo que lo hace apto para Prim
+ * y Dijkstra.
+ */
+public class HeapIndexado
+{
+    /**
+     * heap[k] holds the element at position k of the binary heap.
+     */
+    private int[] heap;
+
+    /**
+     * position[i] holds the position of element i in the heap, or -1 if absent.
+     */
+    private int[] position;
+
+    /**
+     * key[i] holds the priority of element i.
+     */
+    private int[] key;
+
+    /**
+     * The number of elements in the heap
+     */
+    private int size;
+
+    /**
+     * Create an empty heap for elements numbered from 0 to n - 1.
+     *
+     * @param n
+     */
+    public HeapIndexado(int n)
+    {
+        if (n <= 0)
+            throw new IllegalArgumentException("Expected n > 0");
+
+        heap = new int[n];
+        position = new int[n];
+        key = new int[n];
+        for (int i = 0; i < n; ++i)
+            position[i] = -1;
+        size = 0;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    public boolean contains(int i)
+    {
+        return position[i] != -1;
+    }
+
+    /**
+     * Get the priority of element i.
+     *
+     * @param i
+     * @return
+     */
+    public int key(int i)
+    {
+        if (!contains(i))
+            throw new NoSuchElementException("Element not in heap");
+        return key[i];
+    }
+
+    /**
+     * Insert element i with the given priority, or decrease its priority if it is
+     * already in the heap and the new one is lower.
+     * <p>
+     * Complexity: O(log n)
+     *
+     * @param i
+     * @param k
+     * @return true if the element was inserted or its priority decreased
+     */
+    public boolean insertOrDecrease(int i, int k)
+    {
+        if (position[i] == -1) {
+            heap[size] = i;
+            position[i] = size;
+            key[i] = k;
+            siftUp(size++);
+            return true;
+        }
+        if (k < key[i]) {
+            key[i] = k;
+            siftUp(position[i]);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remove and return the element with the lowest priority.
+     * <p>
+     * Complexity: O(log n)
+     *
+     * @return
+     */
+    public int extractMin()
+    {
+        if (size == 0)
+            throw new NoSuchElementException("Empty heap");
+
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int k)
+    {
+        int e = heap[k];
+        while (k > 0) {
+            int p = (k - 1) >>> 1;
+            if (key[heap[p]] <= key[e])
+                break;
+            heap[k] = heap[p];
+            position[heap[k]] = k;
+            k = p;
+        }
+        heap[k] = e;
+        position[e] = k;
+    }
+
+    private void siftDown(int k)
+    {
+        int e = heap[k];
+        while (true) {
+            int c = 2 * k + 1;
+            if (c >= size)
+                break;
+            if (c + 1 < size && key[heap[c + 1]] < key[heap[c]])
+                c++;
+            if (key[e] <= key[heap[c]])
+                break;
+            heap[k] = heap[c];
+            position[heap[k]] = k;
+            k = c;
+        }
+        heap[k] = e;
+        position[e] = k;
+    }
+}
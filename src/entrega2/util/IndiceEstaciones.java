@@ -0,0 +1,163 @@
+package entrega2.util;
+
+import java.util.Arrays;
+
+/**
+ * Asigna a cada identificador de estacion un indice denso entre 0 y V - 1, en el
+ * orden en que se agregan. Usa una tabla hash de direccionamiento abierto sobre
+ * arreglos primitivos (sondeo lineal), por lo que cada consulta es O(1) esperado
+ * y no crea objetos.
+ */
+public class IndiceEstaciones
+{
+    /**
+     * Value stored in slots[k] for an empty slot.
+     */
+    private static final int EMPTY = -1;
+
+    /**
+     * keys[k] holds the station id stored in slot k.
+     */
+    private int[] keys;
+
+    /**
+     * slots[k] holds the dense index of the station in slot k, or EMPTY.
+     */
+    private int[] slots;
+
+    /**
+     * stations[i] holds the station id with dense index i.
+     */
+    private int[] stations;
+
+    /**
+     * The number of stations
+     */
+    private int size;
+
+    /**
+     * Create an empty index.
+     */
+    public IndiceEstaciones()
+    {
+        this(16);
+    }
+
+    /**
+     * Create an empty index sized for the expected number of stations.
+     *
+     * @param expected
+     */
+    public IndiceEstaciones(int expected)
+    {
+        if (expected < 0)
+            throw new IllegalArgumentException("Expected expected >= 0");
+
+        // Keep the load factor at or below 1/2
+        int capacity = Integer.highestOneBit(Math.max(8, expected) * 2 - 1) << 1;
+        keys = new int[capacity];
+        slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        stations = new int[Math.max(8, expected)];
+        size = 0;
+    }
+
+    /**
+     * Get the dense index of a station, assigning the next one if it is new.
+     *
+     * @param station
+     * @return the dense index of the station
+     */
+    public int agregar(int station)
+    {
+        int k = slot(station);
+        if (slots[k] != EMPTY)
+            return slots[k];
+
+        if (size == stations.length)
+            stations = Arrays.copyOf(stations, size * 2);
+        stations[size] = station;
+        keys[k] = station;
+        slots[k] = size;
+
+        if (++size * 2 > keys.length)
+            rehash();
+        return size - 1;
+    }
+
+    /**
+     * Get the dense index of a station.
+     *
+     * @param station
+     * @return the dense index, or -1 if the station was never added
+     */
+    public int indice(int station)
+    {
+        return slots[slot(station)];
+    }
+
+    public boolean contiene(int station)
+    {
+        return indice(station) != EMPTY;
+    }
+
+    /**
+     * Get the station id with the given dense index.
+     *
+     * @param indice
+     * @return
+     */
+    public int estacion(int indice)
+    {
+        if (indice < 0 || indice >= size)
+            throw new IndexOutOfBoundsException("Invalid station index: " + indice);
+        return stations[indice];
+    }
+
+    /**
+     * Get the number of stations
+     *
+     * @return
+     */
+    public int cantidad()
+    {
+        return size;
+    }
+
+    /**
+     * Find the slot holding the station, or the empty slot where it would go.
+     */
+    private int slot(int station)
+    {
+        int mask = keys.length - 1;
+        int k = mix(station) & mask;
+        while (slots[k] != EMPTY && keys[k] != station)
+            k = (k + 1) & mask;
+        return k;
+    }
+
+    private void rehash()
+    {
+        keys = new int[keys.length * 2];
+        slots = new int[keys.length];
+        Arrays.fill(slots, EMPTY);
+        for (int i = 0; i < size; ++i) {
+            int k = slot(stations[i]);
+            keys[k] = stations[i];
+            slots[k] = i;
+        }
+    }
+
+    /**
+     * Spread the bits of the id, since station ids are usually consecutive.
+     */
+    private static int mix(int h)
+    {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
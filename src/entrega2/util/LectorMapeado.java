@@ -0,0 +1,436 @@
+package entrega2.util;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import entrega2.model.ArcosPrimitivos;
+import entrega2.model.grafo.Arco;
+
+/**
+ * Lector de archivos de tuneles que mapea el archivo en memoria con
+ * {@link FileChannel#map} y recorre los bytes directamente, cargando origen,
+ * destino y kilometros en arreglos de enteros. A diferencia de
+ * {@link CSVReader} no crea ningun objeto por linea (ni Strings ni Integers ni
+ * Arcos).
+ * <p>
+ * Acepta el mismo formato que {@link CSVReader}: una linea
+ * <code>E1;E2;15</code> por tunel, con espacios opcionales alrededor de cada
+ * campo, finales de linea \n o \r\n, y kilometros con signo opcional. Las
+ * lineas vacias se ignoran. Ante una linea mal formada se lanza una
+ * {@link IllegalArgumentException} que indica la posicion en el archivo.
+ * <p>
+ * Los archivos de mas de {@link #VENTANA} bytes se mapean de a ventanas que
+ * terminan en un fin de linea.
+ * <p>
+ * Si se indica un {@link ForkJoinPool}, el archivo se divide en porciones que
+ * empiezan y terminan en un fin de linea, y cada porcion se mapea y se recorre en
+ * su propio hilo, con sus propios arreglos. Al final los arreglos se concatenan en
+ * el orden de las porciones, asi que el resultado es exactamente el mismo que el
+ * de la lectura secuencial, incluida la linea mal formada que se informa.
+ * <p>
+ * Con {@link #recorrer(ConsumidorTuneles)} los tuneles se entregan de a uno a
+ * medida que se leen, sin guardarlos en arreglos.
+ */
+public class LectorMapeado {
+
+	/**
+	 * Tamanio maximo de cada porcion del archivo que se mapea a la vez.
+	 */
+	public static final int VENTANA = 1 << 30;
+
+	/**
+	 * Tamanio minimo de cada porcion en la lectura en paralelo. Los archivos de
+	 * menos de dos porciones se leen en forma secuencial.
+	 */
+	public static final int PORCION_MINIMA = 1 << 20;
+
+	/**
+	 * Porciones por hilo en la lectura en paralelo, para repartir mejor la carga
+	 * si algunas porciones tardan mas que otras.
+	 */
+	private static final int PORCIONES_POR_HILO = 4;
+
+	/**
+	 * Recibe los tuneles a medida que se leen, en el orden del archivo.
+	 */
+	public interface ConsumidorTuneles {
+		/**
+		 * @param origen  Identificador original de la estacion de origen.
+		 * @param destino Identificador original de la estacion de destino.
+		 * @param km      Kilometros del tunel.
+		 */
+		void tunel(int origen, int destino, int km);
+	}
+
+	private String path;
+	private ForkJoinPool pool;
+
+	// Tuneles leidos, con los identificadores originales de las estaciones
+	private int[] origenes;
+	private int[] destinos;
+	private int[] etiquetas;
+	private int cantidad;
+
+	// Posicion del byte siguiente al ultimo campo leido
+	private int posicion;
+
+	// Error de la lectura de una porcion, en la lectura en paralelo
+	private RuntimeException error;
+
+	// Destino de los tuneles en la lectura sin arreglos, o null
+	private ConsumidorTuneles consumidor;
+
+	/**
+	 * Constructor de la clase LectorMapeado, que lee el archivo en forma
+	 * secuencial.
+	 *
+	 * @param path Ruta del archivo.
+	 */
+	public LectorMapeado(String path) {
+		this(path, null);
+	}
+
+	/**
+	 * Constructor de la clase LectorMapeado que lee el archivo en paralelo.
+	 *
+	 * @param path Ruta del archivo.
+	 * @param pool Pool en el que se leen las porciones, o null para leer en forma
+	 *             secuencial.
+	 */
+	public LectorMapeado(String path, ForkJoinPool pool) {
+		this.path = path;
+		this.pool = pool;
+	}
+
+	/**
+	 * Lee el archivo y devuelve los tuneles en arreglos primitivos, en el mismo
+	 * orden que en el archivo.
+	 *
+	 * Complejidad: O(B / P + N), donde B es la cantidad de bytes del archivo, P la
+	 * de hilos y N la de tuneles (la traduccion de estaciones a indices densos de
+	 * {@link ArcosPrimitivos} es secuencial).
+	 *
+	 * @return Los tuneles del archivo.
+	 */
+	public ArcosPrimitivos getArcosPrimitivos() {
+		try (RandomAccessFile archivo = new RandomAccessFile(path, "r");
+				FileChannel canal = archivo.getChannel()) {
+			long tamanio = canal.size();
+			if (pool == null || tamanio < 2L * PORCION_MINIMA) {
+				leer(canal, 0, tamanio);
+			} else {
+				leerEnParalelo(canal, tamanio);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		ArcosPrimitivos arcos = new ArcosPrimitivos(origenes, destinos, etiquetas, cantidad);
+		origenes = destinos = etiquetas = null;
+		return arcos;
+	}
+
+	/**
+	 * Lee el archivo en forma secuencial y entrega cada tunel al consumidor, sin
+	 * guardarlos: la memoria usada no depende del tamanio del archivo. Se ignora el
+	 * pool indicado en el constructor, porque el consumidor recibe los tuneles en
+	 * orden.
+	 *
+	 * Complejidad: O(B), donde B es la cantidad de bytes del archivo.
+	 *
+	 * @param consumidor Consumidor de los tuneles.
+	 * @return La cantidad de tuneles leidos.
+	 */
+	public int recorrer(ConsumidorTuneles consumidor) {
+		this.consumidor = consumidor;
+		try (RandomAccessFile archivo = new RandomAccessFile(path, "r");
+				FileChannel canal = archivo.getChannel()) {
+			leer(canal, 0, canal.size());
+			return cantidad;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			this.consumidor = null;
+		}
+	}
+
+	/**
+	 * Lee los tuneles entre las posiciones desde y hasta del archivo, que tienen
+	 * que ser principios de linea, en los arreglos de este lector o en su
+	 * consumidor.
+	 */
+	private void leer(FileChannel canal, long desde, long hasta) throws IOException {
+		// Un tunel ocupa al menos 6 bytes (E1;E2;1), en general bastantes mas
+		iniciar(consumidor != null ? 0 : (int) Math.min(Integer.MAX_VALUE - 8, (hasta - desde) / 12 + 16));
+
+		long inicio = desde;
+		while (inicio < hasta) {
+			int largo = (int) Math.min(VENTANA, hasta - inicio);
+			MappedByteBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, inicio, largo);
+
+			// Si no es la ultima ventana, se corta despues del ultimo fin de linea
+			int fin = largo;
+			if (inicio + largo < hasta) {
+				fin = ultimoFinDeLinea(datos, largo) + 1;
+				if (fin == 0)
+					throw new IllegalArgumentException("Linea de mas de " + VENTANA + " bytes en " + inicio);
+			}
+
+			parsear(datos, 0, fin, inicio);
+			inicio += fin;
+		}
+	}
+
+	/**
+	 * Divide el archivo en porciones alineadas a fin de linea, lee cada una en una
+	 * tarea con un lector propio y concatena los resultados en orden. Si alguna
+	 * porcion falla se lanza el error de la primera en el orden del archivo.
+	 */
+	private void leerEnParalelo(FileChannel canal, long tamanio) throws IOException {
+		long porcion = Math.max(PORCION_MINIMA, tamanio / ((long) pool.getParallelism() * PORCIONES_POR_HILO));
+		List<Long> cortes = new ArrayList<>();
+		cortes.add(0L);
+		for (long corte = porcion; corte < tamanio; corte += porcion) {
+			long alineado = principioDeLinea(canal, corte, tamanio);
+			if (alineado > cortes.get(cortes.size() - 1) && alineado < tamanio)
+				cortes.add(alineado);
+		}
+		cortes.add(tamanio);
+
+		List<ForkJoinTask<LectorMapeado>> tareas = new ArrayList<>();
+		for (int i = 0; i + 1 < cortes.size(); i++) {
+			long desde = cortes.get(i);
+			long hasta = cortes.get(i + 1);
+			tareas.add(pool.submit(() -> {
+				LectorMapeado lector = new LectorMapeado(path);
+				try {
+					lector.leer(canal, desde, hasta);
+				} catch (IOException e) {
+					lector.error = new UncheckedIOException(e);
+				} catch (RuntimeException e) {
+					lector.error = e;
+				}
+				return lector;
+			}));
+		}
+
+		List<LectorMapeado> lectores = new ArrayList<>(tareas.size());
+		long total = 0;
+		for (ForkJoinTask<LectorMapeado> tarea : tareas) {
+			LectorMapeado lector = tarea.join();
+			if (lector.error != null) {
+				// Se cancelan las porciones que faltan y se propaga el error original
+				for (ForkJoinTask<LectorMapeado> otra : tareas) {
+					otra.cancel(true);
+				}
+				throw lector.error;
+			}
+			lectores.add(lector);
+			total += lector.cantidad;
+		}
+		if (total > Integer.MAX_VALUE - 8)
+			throw new IllegalStateException("Demasiados tuneles");
+
+		iniciar((int) total);
+		for (LectorMapeado lector : lectores) {
+			System.arraycopy(lector.origenes, 0, origenes, cantidad, lector.cantidad);
+			System.arraycopy(lector.destinos, 0, destinos, cantidad, lector.cantidad);
+			System.arraycopy(lector.etiquetas, 0, etiquetas, cantidad, lector.cantidad);
+			cantidad += lector.cantidad;
+		}
+	}
+
+	/**
+	 * Busca el primer principio de linea en o despues de la posicion indicada.
+	 *
+	 * @return La posicion del byte siguiente al primer fin de linea a partir de
+	 *         posicion - 1, o el tamanio del archivo si no hay.
+	 */
+	private static long principioDeLinea(FileChannel canal, long posicion, long tamanio) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(1 << 12);
+		long actual = posicion - 1;
+		while (actual < tamanio) {
+			buffer.clear();
+			int leidos = canal.read(buffer, actual);
+			if (leidos <= 0)
+				break;
+			for (int i = 0; i < leidos; i++) {
+				if (buffer.get(i) == '\n')
+					return actual + i + 1;
+			}
+			actual += leidos;
+		}
+		return tamanio;
+	}
+
+	/**
+	 * Lee el archivo y devuelve los tuneles como arcos, para los resolutores que
+	 * trabajan con listas. Equivale a {@link CSVReader#getArcos()}, pero sin pasar
+	 * por Strings.
+	 *
+	 * @return Lista de arcos, en el mismo orden que en el archivo.
+	 */
+	public List<Arco<Integer>> getArcos() {
+		ArcosPrimitivos arcos = getArcosPrimitivos();
+		List<Arco<Integer>> lista = new ArrayList<>(arcos.getCantidad());
+		for (int i = 0; i < arcos.getCantidad(); i++) {
+			lista.add(arcos.getArco(i));
+		}
+		return lista;
+	}
+
+	private void iniciar(int capacidad) {
+		origenes = new int[capacidad];
+		destinos = new int[capacidad];
+		etiquetas = new int[capacidad];
+		cantidad = 0;
+	}
+
+	/**
+	 * Recorre las lineas de datos entre desde y hasta y agrega un tunel por cada
+	 * una. El rango tiene que empezar al principio de una linea y terminar al final
+	 * de una.
+	 *
+	 * @param datos  Bytes del archivo.
+	 * @param desde  Inicio del rango (inclusivo).
+	 * @param hasta  Fin del rango (exclusivo).
+	 * @param base   Posicion de datos dentro del archivo, para los mensajes de
+	 *               error.
+	 */
+	private void parsear(MappedByteBuffer datos, int desde, int hasta, long base) {
+		posicion = desde;
+		while (posicion < hasta) {
+			saltarEspacios(datos, hasta);
+			if (posicion == hasta)
+				break;
+			if (datos.get(posicion) == '\n') {
+				posicion++;
+				continue;
+			}
+
+			long inicioLinea = base + posicion;
+			int origen = estacion(datos, hasta, inicioLinea);
+			separador(datos, hasta, inicioLinea);
+			int destino = estacion(datos, hasta, inicioLinea);
+			separador(datos, hasta, inicioLinea);
+			saltarEspacios(datos, hasta);
+			int km = entero(datos, hasta, inicioLinea);
+			saltarEspacios(datos, hasta);
+			if (posicion < hasta) {
+				if (datos.get(posicion) != '\n')
+					throw invalida(inicioLinea);
+				posicion++;
+			}
+
+			agregar(origen, destino, km);
+		}
+	}
+
+	private void agregar(int origen, int destino, int km) {
+		if (consumidor != null) {
+			if (cantidad == Integer.MAX_VALUE)
+				throw new IllegalStateException("Demasiados tuneles");
+			consumidor.tunel(origen, destino, km);
+			cantidad++;
+			return;
+		}
+		if (cantidad == origenes.length) {
+			int capacidad = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(16, 2L * cantidad));
+			if (capacidad == cantidad)
+				throw new IllegalStateException("Demasiados tuneles");
+			origenes = Arrays.copyOf(origenes, capacidad);
+			destinos = Arrays.copyOf(destinos, capacidad);
+			etiquetas = Arrays.copyOf(etiquetas, capacidad);
+		}
+		origenes[cantidad] = origen;
+		destinos[cantidad] = destino;
+		etiquetas[cantidad] = km;
+		cantidad++;
+	}
+
+	/**
+	 * Lee una estacion: espacios opcionales, el prefijo E y el numero.
+	 */
+	private int estacion(MappedByteBuffer datos, int hasta, long inicioLinea) {
+		saltarEspacios(datos, hasta);
+		if (posicion < hasta && (datos.get(posicion) == 'E' || datos.get(posicion) == 'e'))
+			posicion++;
+		return entero(datos, hasta, inicioLinea);
+	}
+
+	/**
+	 * Lee espacios opcionales y el ;.
+	 */
+	private void separador(MappedByteBuffer datos, int hasta, long inicioLinea) {
+		saltarEspacios(datos, hasta);
+		if (posicion == hasta || datos.get(posicion) != ';')
+			throw invalida(inicioLinea);
+		posicion++;
+	}
+
+	/**
+	 * Lee un entero con signo opcional, sin espacios antes.
+	 */
+	private int entero(MappedByteBuffer datos, int hasta, long inicioLinea) {
+		boolean negativo = false;
+		if (posicion < hasta && (datos.get(posicion) == '-' || datos.get(posicion) == '+')) {
+			negativo = datos.get(posicion) == '-';
+			posicion++;
+		}
+
+		int inicio = posicion;
+		long valor = 0;
+		while (posicion < hasta) {
+			int digito = datos.get(posicion) - '0';
+			if (digito < 0 || digito > 9)
+				break;
+			valor = valor * 10 + digito;
+			if (valor > (long) Integer.MAX_VALUE + 1)
+				throw invalida(inicioLinea);
+			posicion++;
+		}
+
+		if (posicion == inicio)
+			throw invalida(inicioLinea);
+		if (negativo)
+			valor = -valor;
+		if (valor > Integer.MAX_VALUE)
+			throw invalida(inicioLinea);
+		return (int) valor;
+	}
+
+	private void saltarEspacios(MappedByteBuffer datos, int hasta) {
+		while (posicion < hasta) {
+			byte b = datos.get(posicion);
+			if (b != ' ' && b != '\t' && b != '\r')
+				return;
+			posicion++;
+		}
+	}
+
+	private static IllegalArgumentException invalida(long inicioLinea) {
+		return new IllegalArgumentException("Linea mal formada en el byte " + inicioLinea);
+	}
+
+	/**
+	 * Busca el ultimo fin de linea antes de hasta.
+	 *
+	 * @return Su posicion, o -1 si no hay.
+	 */
+	private static int ultimoFinDeLinea(MappedByteBuffer datos, int hasta) {
+		for (int i = hasta - 1; i >= 0; i--) {
+			if (datos.get(i) == '\n')
+				return i;
+		}
+		return -1;
+	}
+}
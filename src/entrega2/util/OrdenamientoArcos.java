@@ -0,0 +1,157 @@
+package entrega2.util;
+
+import java.util.Arrays;
+
+/**
+ * Ordenamiento de tuneles por menor kilometro sobre claves primitivas. Cada
+ * tunel i se codifica en una clave long con los kilometros en los 32 bits altos
+ * y el indice i en los 32 bits bajos, por lo que las claves ordenadas dan el
+ * orden por kilometro con los empates resueltos por la posicion original (el
+ * mismo resultado que un ordenamiento estable). El indice del tunel se recupera
+ * con {@link #indice(long)}.
+ */
+public class OrdenamientoArcos {
+
+	/**
+	 * Algoritmo de ordenamiento a utilizar.
+	 */
+	public enum Algoritmo {
+		/** Ordenamiento por comparacion (Arrays.sort), O(N log N). */
+		COMPARACION,
+		/** Radix sort LSD de a 8 bits sobre los kilometros, O(N). */
+		RADIX,
+		/** Ordenamiento por comparacion en paralelo (Arrays.parallelSort). */
+		PARALELO
+	}
+
+	private OrdenamientoArcos() {
+	}
+
+	/**
+	 * Construye las claves de los tuneles, sin ordenar.
+	 *
+	 * @param etiquetas Kilometros de cada tunel.
+	 * @param cantidad  Cantidad de tuneles.
+	 * @return Arreglo de claves, una por tunel.
+	 */
+	public static long[] claves(int[] etiquetas, int cantidad) {
+		long[] claves = new long[cantidad];
+		for (int i = 0; i < cantidad; i++) {
+			claves[i] = clave(etiquetas[i], i);
+		}
+		return claves;
+	}
+
+	/**
+	 * Construye la clave de un tunel.
+	 *
+	 * @param etiqueta Kilometros del tunel.
+	 * @param indice   Indice del tunel.
+	 * @return La clave del tunel.
+	 */
+	public static long clave(int etiqueta, int indice) {
+		return ((long) etiqueta << 32) | (indice & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Obtiene el indice del tunel codificado en una clave.
+	 *
+	 * @param clave Clave del tunel.
+	 * @return Indice del tunel.
+	 */
+	public static int indice(long clave) {
+		return (int) clave;
+	}
+
+	/**
+	 * Obtiene los kilometros del tunel codificado en una clave.
+	 *
+	 * @param clave Clave del tunel.
+	 * @return Kilometros del tunel.
+	 */
+	public static int etiqueta(long clave) {
+		return (int) (clave >> 32);
+	}
+
+	/**
+	 * Ordena los tuneles por menor kilometro con el algoritmo indicado.
+	 *
+	 * @param etiquetas Kilometros de cada tunel.
+	 * @param cantidad  Cantidad de tuneles.
+	 * @param algoritmo Algoritmo de ordenamiento.
+	 * @return Claves ordenadas.
+	 */
+	public static long[] ordenar(int[] etiquetas, int cantidad, Algoritmo algoritmo) {
+		long[] claves = claves(etiquetas, cantidad);
+		switch (algoritmo) {
+		case RADIX:
+			radix(claves, 0, claves.length);
+			break;
+		case PARALELO:
+			Arrays.parallelSort(claves);
+			break;
+		default:
+			Arrays.sort(claves);
+		}
+		return claves;
+	}
+
+	/**
+	 * Ordena un rango de claves con radix sort LSD sobre los 32 bits de los
+	 * kilometros, en cuatro pasadas de 8 bits. Como los indices ya estan en orden
+	 * creciente dentro del rango y cada pasada es estable, no hace falta ordenar
+	 * los 32 bits bajos. Las pasadas en las que todas las claves tienen el mismo
+	 * digito se saltean, lo que con kilometros acotados deja una o dos pasadas.
+	 *
+	 * Complejidad: O(N), donde N es la cantidad de claves del rango.
+	 *
+	 * @param claves Claves a ordenar; sus indices deben estar en orden creciente.
+	 * @param desde  Inicio del rango (inclusivo).
+	 * @param hasta  Fin del rango (exclusivo).
+	 */
+	public static void radix(long[] claves, int desde, int hasta) {
+		int n = hasta - desde;
+		if (n < 2) {
+			return;
+		}
+
+		long[] origen = Arrays.copyOfRange(claves, desde, hasta);
+		long[] destino = new long[n];
+		int[] cuenta = new int[257];
+
+		for (int desplazamiento = 32; desplazamiento < 64; desplazamiento += 8) {
+			// En el byte mas alto se invierte el bit de signo para que los negativos vayan primero
+			int signo = desplazamiento == 56 ? 0x80 : 0;
+
+			Arrays.fill(cuenta, 0);
+			for (int i = 0; i < n; i++) {
+				cuenta[(((int) (origen[i] >>> desplazamiento) & 0xFF) ^ signo) + 1]++;
+			}
+
+			// Si todas las claves tienen el mismo digito la pasada no cambia nada
+			boolean trivial = false;
+			for (int d = 1; d <= 256; d++) {
+				if (cuenta[d] == n) {
+					trivial = true;
+					break;
+				}
+			}
+			if (trivial) {
+				continue;
+			}
+
+			for (int d = 0; d < 256; d++) {
+				cuenta[d + 1] += cuenta[d];
+			}
+			for (int i = 0; i < n; i++) {
+				destino[cuenta[((int) (origen[i] >>> desplazamiento) & 0xFF) ^ signo]++] = origen[i];
+			}
+
+			long[] t = origen;
+			origen = destino;
+			destino = t;
+		}
+
+		System.arraycopy(origen, 0, claves, desde, n);
+	}
+}
@@ -50,7 +50,7 @@ public class UnionFind implements Cloneable
         if (i < 0 || i > parent.length)
             throw new NoSuchElementException("Invalid element");
         
-        return root(i);
+        return root1(i);
     }
     
     /**
@@ -106,7 +106,6 @@ public class UnionFind implements Cloneable
      * This is an optimized version of {@link UnionFind#root(int)} which modifies the
      * internal tree as it traverses it (moving from u to root).
      */
-    @SuppressWarnings("unused")
     private int root1(int u)
     {
         int p = parent[u];
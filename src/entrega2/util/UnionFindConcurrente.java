@@ -0,0 +1,147 @@
+package entrega2.util;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Variante de {@link UnionFind} que pueden usar varios hilos a la vez sin
+ * bloquearse. Los padres se guardan en un {@link AtomicIntegerArray}:
+ * <ul>
+ * <li>{@link #find(int)} es wait-free: divide el camino con compare-and-set, y si
+ * el compare-and-set falla porque otro hilo ya cambio el padre simplemente sigue
+ * subiendo. Nunca reintenta.</li>
+ * <li>{@link #union(int, int)} busca las dos raices y cuelga una de la otra con
+ * un compare-and-set, que solo tiene exito si la raiz sigue siendo raiz. Si otro
+ * hilo la colgo antes, vuelve a buscar las raices y reintenta.</li>
+ * </ul>
+ * Como dos hilos no pueden coordinar la comparacion de tamanios, la raiz que se
+ * cuelga se elige por una prioridad pseudoaleatoria fija de cada elemento
+ * (enlace aleatorio por indice). Los caminos siempre suben hacia prioridades
+ * mayores, asi que no se forman ciclos y la altura esperada es O(log n).
+ */
+public class UnionFindConcurrente
+{
+    /**
+     * parent[i] points to parent of element i or to self.
+     */
+    private final AtomicIntegerArray parent;
+
+    /**
+     * The number of disjoint sets
+     */
+    private final AtomicInteger num;
+
+    /**
+     * Create n disjoint sets containing a single element numbered from 0 to n - 1.
+     *
+     * @param n
+     */
+    public UnionFindConcurrente(int n)
+    {
+        if (n <= 0)
+            throw new IllegalArgumentException("Expected n > 0");
+
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; ++i) {
+            parent.set(i, i); // root of self
+        }
+
+        num = new AtomicInteger(n);
+    }
+
+    /**
+     * Find representative element (i.e root of tree) for element i, halving the
+     * path on the way up. The result was the root of i at some point during the
+     * call; it may stop being a root afterwards if another thread merges it.
+     *
+     * @param i
+     * @return
+     */
+    public int find(int i)
+    {
+        if (i < 0 || i >= parent.length())
+            throw new NoSuchElementException("Invalid element");
+
+        while (true) {
+            int p = parent.get(i);
+            if (p == i)
+                return i;
+            int gp = parent.get(p);
+            if (p != gp)
+                parent.compareAndSet(i, p, gp); // if it fails another thread already moved i up
+            i = gp;
+        }
+    }
+
+    /**
+     * Merge set containing u with the one containing v.
+     *
+     * @param u
+     * @param v
+     * @return true if this call merged two different sets; when several threads
+     *         try to merge the same two sets, exactly one of them gets true
+     */
+    public boolean union(int u, int v)
+    {
+        while (true) {
+            u = find(u);
+            v = find(v);
+
+            if (u == v)
+                return false; // no-op
+
+            if (precede(v, u)) {
+                int t = v; v = u; u = t; // swap u, v
+            }
+
+            // Make u point to v, only if u is still a root
+            if (parent.compareAndSet(u, u, v)) {
+                num.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Check whether u and v are in the same set. If the roots differ, the answer is
+     * only final once the first root is confirmed to still be a root.
+     *
+     * @param u
+     * @param v
+     * @return
+     */
+    public boolean connected(int u, int v)
+    {
+        while (true) {
+            u = find(u);
+            v = find(v);
+            if (u == v)
+                return true;
+            if (parent.get(u) == u)
+                return false;
+        }
+    }
+
+    public int numberOfSets()
+    {
+        return num.get();
+    }
+
+    /**
+     * Check whether element a has lower linking priority than element b. Ties in
+     * the pseudorandom priority are broken by index, so the order is total.
+     */
+    private static boolean precede(int a, int b)
+    {
+        int pa = prioridad(a);
+        int pb = prioridad(b);
+        return pa < pb || (pa == pb && a < b);
+    }
+
+    private static int prioridad(int i)
+    {
+        int h = i * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,170 @@
+package entrega2.util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Variante de {@link UnionFind} que permite deshacer uniones. Utiliza union por
+ * rango (cardinalidad) y no comprime caminos, de modo que cada union modifica un
+ * solo nodo y puede registrarse en un log para revertirla en O(1).
+ */
+public class UnionFindReversible implements Cloneable
+{
+    /**
+     * parent[i] points to parent of element i or to self.
+     */
+    private int[] parent;
+
+    /**
+     * rank[i] holds the rank (cardinality) of the tree rooted at element i.
+     * It is kept for non-root elements too, so a union can be undone.
+     */
+    private int[] rank;
+
+    /**
+     * log[k] holds the element that was attached to another root in the k-th union.
+     */
+    private int[] log;
+
+    /**
+     * The number of entries in the log
+     */
+    private int logSize;
+
+    /**
+     * The number of disjoint sets
+     */
+    private int num;
+
+    /**
+     * Create n disjoint sets containing a single element numbered from 0 to n - 1.
+     *
+     * @param n
+     */
+    public UnionFindReversible(int n)
+    {
+        if (n <= 0)
+            throw new IllegalArgumentException("Expected n > 0");
+
+        parent = new int[n];
+        rank = new int[n];
+        for (int i = 0; i < n; ++i) {
+            parent[i] = i; // root of self
+            rank[i] = 1; // contains only self
+        }
+
+        // At most n - 1 effective unions can be logged
+        log = new int[Math.max(1, n - 1)];
+        logSize = 0;
+        num = n;
+    }
+
+    /**
+     * Find representative element (i.e root of tree) for element i.
+     * <p>
+     * Complexity: O(log n), since union by rank keeps trees balanced.
+     *
+     * @param i
+     * @return
+     */
+    public int find(int i)
+    {
+        if (i < 0 || i >= parent.length)
+            throw new NoSuchElementException("Invalid element");
+
+        while (parent[i] != i)
+            i = parent[i];
+        return i;
+    }
+
+    /**
+     * Merge set containing u with the one containing v. The union is recorded in
+     * the log so it can be undone by {@link #rollback(int)}.
+     *
+     * @param u
+     * @param v
+     * @return the representative of union
+     */
+    public int union(int u, int v)
+    {
+        // Replace elements by representatives
+
+        u = find(u);
+        v = find(v);
+
+        if (u == v)
+            return u; // no-op, nothing to log
+
+        // Make smaller tree u point to v
+
+        if (rank[v] < rank[u]) {
+            int t = v; v = u; u = t; // swap u, v
+        }
+
+        parent[u] = v;
+        rank[v] += rank[u];
+
+        log[logSize++] = u;
+        num--;
+
+        return v;
+    }
+
+    /**
+     * Mark the current state so it can be restored later.
+     *
+     * @return the checkpoint to be passed to {@link #rollback(int)}
+     */
+    public int checkpoint()
+    {
+        return logSize;
+    }
+
+    /**
+     * Undo every union performed after the given checkpoint.
+     * <p>
+     * Complexity: O(1) per undone union.
+     *
+     * @param checkpoint value previously returned by {@link #checkpoint()}
+     */
+    public void rollback(int checkpoint)
+    {
+        if (checkpoint < 0 || checkpoint > logSize)
+            throw new IllegalArgumentException("Invalid checkpoint");
+
+        while (logSize > checkpoint) {
+            int u = log[--logSize];
+            int v = parent[u];
+            rank[v] -= rank[u];
+            parent[u] = u;
+            num++;
+        }
+    }
+
+    public int numberOfSets()
+    {
+        return num;
+    }
+
+    /**
+     * Get rank (i.e. cardinality) of the set containing element u
+     * @param u
+     * @return
+     */
+    public int rank(int u)
+    {
+        return rank[find(u)];
+    }
+
+    @Override
+    public UnionFindReversible clone() {
+        try {
+            UnionFindReversible clon = (UnionFindReversible) super.clone();
+            clon.parent = parent.clone();
+            clon.rank = rank.clone();
+            clon.log = log.clone();
+            return clon;
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
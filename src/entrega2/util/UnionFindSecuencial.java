@@ -0,0 +1,139 @@
+package entrega2.util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Variante de {@link UnionFind} para uso desde un solo hilo, con union por
+ * tamanio y division del camino (path halving) en cada busqueda: cada nodo
+ * visitado pasa a apuntar a su abuelo, lo que acorta el camino a la mitad sin
+ * recursion ni una segunda pasada. Con ambas tecnicas cada operacion cuesta
+ * O(alfa(n)) amortizado.
+ *
+ * A diferencia de {@link UnionFind}, {@link #union(int, int)} indica si los
+ * elementos estaban en conjuntos distintos, que es lo que necesita Kruskal.
+ */
+public class UnionFindSecuencial implements Cloneable
+{
+    /**
+     * parent[i] points to parent of element i or to self.
+     */
+    private int[] parent;
+
+    /**
+     * size[i] holds the cardinality of the set rooted at element i.
+     */
+    private int[] size;
+
+    /**
+     * The number of disjoint sets
+     */
+    private int num;
+
+    /**
+     * Create n disjoint sets containing a single element numbered from 0 to n - 1.
+     *
+     * @param n
+     */
+    public UnionFindSecuencial(int n)
+    {
+        if (n <= 0)
+            throw new IllegalArgumentException("Expected n > 0");
+
+        parent = new int[n];
+        size = new int[n];
+        for (int i = 0; i < n; ++i) {
+            parent[i] = i; // root of self
+            size[i] = 1; // contains only self
+        }
+
+        num = n;
+    }
+
+    /**
+     * Find representative element (i.e root of tree) for element i, halving the
+     * path on the way up.
+     *
+     * @param i
+     * @return
+     */
+    public int find(int i)
+    {
+        if (i < 0 || i >= parent.length)
+            throw new NoSuchElementException("Invalid element");
+
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * Merge set containing u with the one containing v. The smaller set is
+     * attached to the root of the larger one.
+     *
+     * @param u
+     * @param v
+     * @return true if u and v were in different sets
+     */
+    public boolean union(int u, int v)
+    {
+        u = find(u);
+        v = find(v);
+
+        if (u == v)
+            return false; // no-op
+
+        if (size[v] < size[u]) {
+            int t = v; v = u; u = t; // swap u, v
+        }
+
+        parent[u] = v;
+        size[v] += size[u];
+
+        num--;
+
+        return true;
+    }
+
+    /**
+     * Check whether u and v are in the same set.
+     *
+     * @param u
+     * @param v
+     * @return
+     */
+    public boolean connected(int u, int v)
+    {
+        return find(u) == find(v);
+    }
+
+    public int numberOfSets()
+    {
+        return num;
+    }
+
+    /**
+     * Get the cardinality of the set containing element u
+     *
+     * @param u
+     * @return
+     */
+    public int size(int u)
+    {
+        return size[find(u)];
+    }
+
+    @Override
+    public UnionFindSecuencial clone()
+    {
+        try {
+            UnionFindSecuencial clon = (UnionFindSecuencial) super.clone();
+            clon.parent = parent.clone();
+            clon.size = size.clone();
+            return clon;
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}